@@ -0,0 +1,362 @@
+package com.taskapi.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.taskapi.dto.TaskResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The {@code tasks} cache: a Caffeine {@link AsyncLoadingCache} per node, optionally backed by a
+ * node-local {@link OffHeapTaskStore} and a shared {@link RedisTaskStore}, in that order.
+ * <ul>
+ *   <li><b>Single flight</b>: a miss stores the load's future in the cache, so concurrent callers for
+ *   the same id wait on that one future (one L2 lookup, at most one database load).</li>
+ *   <li><b>Refresh-ahead</b>: an entry read after {@code refreshAfterWrite} is reloaded from the
+ *   database in the background while callers keep getting the current value. If the entry is written
+ *   or evicted meanwhile, Caffeine discards the refresh.</li>
+ *   <li><b>Stale-if-error</b>: every loaded or written value is also kept as a last-known copy for
+ *   {@code staleIfError}. When a load fails (for example Postgres is down) that copy is served
+ *   instead of the error. Evictions drop it and writes replace it, and a load that started before
+ *   the key's last eviction or write does not record its result, so a value known to be outdated is
+ *   never served.</li>
+ *   <li><b>Off-heap victims</b>: entries L1 evicts for size are spilled to the off-heap tier and
+ *   promoted back on the next miss. Any other change to a key removes its off-heap copy, so that
+ *   copy is always the key's last L1 value.</li>
+ * </ul>
+ * Spring's {@code @CachePut}/{@code @CacheEvict} keep working on it as on any {@link
+ * org.springframework.cache.Cache}.
+ */
+@Slf4j
+public class LoadingTaskCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final AsyncLoadingCache<Object, TaskResponse> local;
+    private final Cache<Object, TaskResponse> lastKnown;
+    // Stamp of each key's last eviction or write, and of the last clear; loads compare their start stamp
+    private final AtomicLong stamps = new AtomicLong();
+    private final Cache<Object, Long> changedAt;
+    private volatile long clearedAt;
+    private final Supplier<TaskCacheLoader> loader;
+    private final OffHeapTaskStore offHeap;
+    private final RedisTaskStore remote;
+    private final Counter staleServed;
+
+    /**
+     * @param loader   resolved on first load, so the cache can be created before the beans it loads from
+     * @param offHeap  node-local victim tier, or {@code null}
+     * @param remote   shared L2, or {@code null} for a local-only cache
+     */
+    public LoadingTaskCache(String name, long maximumSize, Duration expireAfterWrite, Duration refreshAfterWrite,
+                            Duration staleIfError, Supplier<TaskCacheLoader> loader, OffHeapTaskStore offHeap,
+                            RedisTaskStore remote, Executor executor, MeterRegistry meterRegistry, Tags tags) {
+        this(name, maximumSize, expireAfterWrite, refreshAfterWrite, staleIfError, loader, offHeap, remote, executor,
+            meterRegistry, tags, Ticker.systemTicker());
+    }
+
+    LoadingTaskCache(String name, long maximumSize, Duration expireAfterWrite, Duration refreshAfterWrite,
+                     Duration staleIfError, Supplier<TaskCacheLoader> loader, OffHeapTaskStore offHeap,
+                     RedisTaskStore remote, Executor executor, MeterRegistry meterRegistry, Tags tags, Ticker ticker) {
+        super(false);
+        this.name = name;
+        this.loader = loader;
+        this.offHeap = offHeap;
+        this.remote = remote;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            // Runs atomically with the eviction, so a concurrent evict(key) always sees the spilled copy
+            .evictionListener((Object key, TaskResponse value, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE && value != null && offHeap != null) {
+                    offHeap.putIfAbsent(key, value);
+                }
+            })
+            .expireAfterWrite(expireAfterWrite)
+            .refreshAfterWrite(refreshAfterWrite)
+            .executor(executor)
+            .ticker(ticker)
+            .recordStats()
+            .buildAsync(new AsyncCacheLoader<>() {
+                @Override
+                public CompletableFuture<TaskResponse> asyncLoad(Object key, Executor executor) {
+                    long started = stamps.get();
+                    return CompletableFuture.supplyAsync(() -> loadThroughTiers(key, started), executor);
+                }
+
+                @Override
+                public CompletableFuture<Map<Object, TaskResponse>> asyncLoadAll(Set<?> keys, Executor executor) {
+                    long started = stamps.get();
+                    return CompletableFuture.supplyAsync(() -> loadAllThroughTiers(keys, started), executor);
+                }
+
+                @Override
+                public CompletableFuture<TaskResponse> asyncReload(Object key, TaskResponse oldValue, Executor executor) {
+                    // L2 may hold the same old value; refresh from the source of truth
+                    long started = stamps.get();
+                    return CompletableFuture.supplyAsync(() -> {
+                        TaskResponse reloaded = loadFromSource(key, started);
+                        removeOffHeap(key);
+                        return reloaded;
+                    }, executor);
+                }
+            });
+        this.lastKnown = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(staleIfError)
+            .ticker(ticker)
+            .build();
+        this.changedAt = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(staleIfError)
+            .ticker(ticker)
+            .build();
+        this.staleServed = Counter.builder("cache.stale.served")
+            .description("Reads answered with a last-known copy because loading failed")
+            .tag("cache", name)
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, tags);
+        FunctionCounter.builder("cache.tier.gets", local, c -> c.synchronous().stats().hitCount())
+            .tags(Tags.of("cache", name, "tier", "l1", "result", "hit"))
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", local, c -> c.synchronous().stats().missCount())
+            .tags(Tags.of("cache", name, "tier", "l1", "result", "miss"))
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the task with this id, or {@code null} if it does not exist. Falls back to the
+     * last-known copy when loading fails; without one, the load's exception is rethrown.
+     */
+    public TaskResponse getTask(UUID id) {
+        String key = id.toString();
+        try {
+            return local.get(key).join();
+        } catch (CompletionException e) {
+            TaskResponse stale = lastKnown.getIfPresent(key);
+            if (stale != null) {
+                staleServed.increment();
+                log.warn("Serving last-known copy of task {} after load failure: {}", id, e.getCause().toString());
+                return stale;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Returns the tasks with these ids that exist. Cached ones are served as is; all misses are
+     * loaded together, with one batched query for those no tier holds.
+     */
+    public Map<UUID, TaskResponse> getTasks(Collection<UUID> ids) {
+        List<String> keys = ids.stream().map(UUID::toString).distinct().toList();
+        Map<Object, TaskResponse> found;
+        try {
+            found = local.getAll(keys).join();
+        } catch (CompletionException e) {
+            found = new HashMap<>();
+            for (String key : keys) {
+                TaskResponse stale = lastKnown.getIfPresent(key);
+                if (stale == null) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+                found.put(key, stale);
+            }
+            staleServed.increment(found.size());
+        }
+        Map<UUID, TaskResponse> tasks = new LinkedHashMap<>();
+        found.values().forEach(task -> tasks.put(task.getId(), task));
+        return tasks;
+    }
+
+    /** Ids of the most frequently used L1 entries, hottest first. */
+    public List<UUID> hottest(int limit) {
+        return local.synchronous().policy().eviction()
+            .map(eviction -> eviction.hottest(limit).keySet().stream().map(key -> UUID.fromString(key.toString())).toList())
+            .orElse(List.of());
+    }
+
+    /** The loading cache behind a (possibly transaction-aware) {@code tasks} cache. */
+    public static LoadingTaskCache of(org.springframework.cache.Cache cache) {
+        return (LoadingTaskCache) (cache instanceof TransactionAwareCacheDecorator decorator
+            ? decorator.getTargetCache() : cache);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        CompletableFuture<TaskResponse> future = local.getIfPresent(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long started = stamps.get();
+        try {
+            return (T) local.get(key, (k, executor) -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return remember(k, (TaskResponse) valueLoader.call(), started);
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(k, valueLoader, e);
+                }
+            }, executor)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        TaskResponse task = (TaskResponse) value;
+        changedAt.put(key, stamps.incrementAndGet());
+        local.put(key, CompletableFuture.completedFuture(task));
+        removeOffHeap(key);
+        lastKnown.put(key, task);
+        if (remote != null) {
+            remote.put(key, task);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictLocal(key);
+        if (remote != null) {
+            remote.evict(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        clearedAt = stamps.incrementAndGet();
+        local.synchronous().invalidateAll();
+        lastKnown.invalidateAll();
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+        if (remote != null) {
+            remote.clear();
+        }
+    }
+
+    /** Drops the key from this node only, e.g. when another node changed the task and updated L2. */
+    public void evictLocal(Object key) {
+        // Stamped first, so a load finishing after the invalidation below cannot remember its value
+        changedAt.put(key, stamps.incrementAndGet());
+        local.synchronous().invalidate(key);
+        lastKnown.invalidate(key);
+        removeOffHeap(key);
+    }
+
+    /**
+     * Empties this node's L1 and off-heap tier. L2 is shared and left alone, and last-known copies are
+     * kept: they are only served while loading fails, within their staleness bound.
+     */
+    public void clearLocal() {
+        local.synchronous().invalidateAll();
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+    }
+
+    private TaskResponse loadThroughTiers(Object key, long started) {
+        if (offHeap != null) {
+            TaskResponse spilled = offHeap.get(key);
+            if (spilled != null) {
+                return remember(key, spilled, started);
+            }
+        }
+        if (remote != null) {
+            TaskResponse shared = remote.get(key);
+            if (shared != null) {
+                return remember(key, shared, started);
+            }
+        }
+        TaskResponse loaded = loadFromSource(key, started);
+        if (loaded != null && remote != null) {
+            remote.fillIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    private Map<Object, TaskResponse> loadAllThroughTiers(Set<?> keys, long started) {
+        Map<Object, TaskResponse> found = new HashMap<>();
+        if (offHeap != null) {
+            for (Object key : keys) {
+                TaskResponse spilled = offHeap.get(key);
+                if (spilled != null) {
+                    found.put(key, spilled);
+                }
+            }
+        }
+        if (remote != null && found.size() < keys.size()) {
+            found.putAll(remote.getAll(keys.stream().filter(key -> !found.containsKey(key)).toList()));
+        }
+        List<UUID> missing = keys.stream().filter(key -> !found.containsKey(key))
+            .map(key -> UUID.fromString(key.toString())).toList();
+        if (!missing.isEmpty()) {
+            loader.get().loadAll(missing).forEach((id, task) -> {
+                found.put(id.toString(), task);
+                if (remote != null) {
+                    remote.fillIfAbsent(id.toString(), task);
+                }
+            });
+        }
+        found.forEach((key, task) -> remember(key, task, started));
+        return found;
+    }
+
+    private TaskResponse loadFromSource(Object key, long started) {
+        return remember(key, loader.get().load(UUID.fromString(key.toString())), started);
+    }
+
+    private void removeOffHeap(Object key) {
+        if (offHeap != null) {
+            offHeap.remove(key);
+        }
+    }
+
+    /** Keeps a loaded value as the last-known copy, unless the key was evicted or written since the load started. */
+    private TaskResponse remember(Object key, TaskResponse value, long started) {
+        Long changed = changedAt.getIfPresent(key);
+        if (value != null && clearedAt <= started && (changed == null || changed <= started)) {
+            lastKnown.put(key, value);
+        }
+        return value;
+    }
+}
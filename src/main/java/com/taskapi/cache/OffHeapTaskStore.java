@@ -0,0 +1,380 @@
+package com.taskapi.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.taskapi.dto.TaskResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Node-local tier for {@link TaskResponseCodec} bytes outside the Java heap, sized by a byte budget
+ * instead of an entry count. It holds the tasks {@link LoadingTaskCache} evicts from its on-heap L1
+ * for size, so a working set far larger than L1 is served without the database and without growing
+ * old gen.
+ * <p>
+ * The store is split into segments, each with its own lock and two direct buffers:
+ * <ul>
+ *   <li>a data ring, where records are appended at the tail and reclaimed from the head;</li>
+ *   <li>an open-addressing index (linear probing, backward-shift deletion) mapping a UUID's two
+ *   longs to a record offset and a referenced bit.</li>
+ * </ul>
+ * Eviction is CLOCK: when the ring needs space, a referenced record at the head is moved to the tail
+ * with its bit cleared (second chance) and an unreferenced one is dropped. Replaced and removed
+ * records stay in the ring as garbage until the head passes them. Records older than
+ * {@code expireAfterWrite} are treated as absent, which bounds staleness if an invalidation is missed.
+ */
+public class OffHeapTaskStore {
+
+    // Record: length, payload length, id (two longs), written-at ticks, payload; 8-byte aligned.
+    // A negative length marks padding at the end of the ring.
+    private static final int HEADER = 32;
+    // Index slot: id (two longs), record offset + 1 (0 = empty), referenced flag
+    private static final int SLOT = 24;
+    private static final double MAX_LOAD = 0.75;
+
+    private final Segment[] segments;
+    private final long expireAfterWriteNanos;
+    private final Ticker ticker;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public OffHeapTaskStore(String cacheName, long capacityBytes, long maxEntries, int segmentCount,
+                            Duration expireAfterWrite, MeterRegistry meterRegistry) {
+        this(cacheName, capacityBytes, maxEntries, segmentCount, expireAfterWrite, meterRegistry, Ticker.systemTicker());
+    }
+
+    OffHeapTaskStore(String cacheName, long capacityBytes, long maxEntries, int segmentCount,
+                     Duration expireAfterWrite, MeterRegistry meterRegistry, Ticker ticker) {
+        int count = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        long segmentCapacity = capacityBytes / count & ~7L;
+        if (segmentCapacity < 4096 || segmentCapacity > Integer.MAX_VALUE - 7) {
+            throw new IllegalArgumentException("Off-heap capacity per segment must be between 4KB and 2GB: "
+                + capacityBytes + " bytes over " + count + " segments");
+        }
+        // Slots for maxEntries at the load limit, rounded up to a power of two; capped so the index fits a buffer
+        int slots = Integer.highestOneBit((int) Math.min(1 << 26, Math.max(16, (long) (maxEntries / count / MAX_LOAD))) - 1) << 1;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment((int) segmentCapacity, slots);
+        }
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.ticker = ticker;
+        this.hits = tierCounter(meterRegistry, cacheName, "hit");
+        this.misses = tierCounter(meterRegistry, cacheName, "miss");
+        this.evictions = Counter.builder("cache.offheap.evictions")
+            .description("Off-heap records dropped by CLOCK eviction to make room")
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+        Gauge.builder("cache.offheap.size", this, OffHeapTaskStore::size)
+            .description("Tasks in the off-heap tier")
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+        Gauge.builder("cache.offheap.memory", this, store -> store.capacity())
+            .description("Off-heap bytes reserved for records (the byte budget)")
+            .baseUnit("bytes")
+            .tags("cache", cacheName, "area", "data", "state", "reserved")
+            .register(meterRegistry);
+        Gauge.builder("cache.offheap.memory", this, OffHeapTaskStore::liveBytes)
+            .description("Off-heap bytes held by live records")
+            .baseUnit("bytes")
+            .tags("cache", cacheName, "area", "data", "state", "live")
+            .register(meterRegistry);
+        Gauge.builder("cache.offheap.memory", this, store -> (double) count * slots * SLOT)
+            .description("Off-heap bytes reserved for the index")
+            .baseUnit("bytes")
+            .tags("cache", cacheName, "area", "index", "state", "reserved")
+            .register(meterRegistry);
+    }
+
+    /** The stored task, or {@code null} if absent or expired. A hit marks the record referenced. */
+    public TaskResponse get(Object key) {
+        UUID id = UUID.fromString(key.toString());
+        byte[] bytes = segment(id).get(id.getMostSignificantBits(), id.getLeastSignificantBits(), ticker.read());
+        TaskResponse value = bytes != null ? TaskResponseCodec.decode(bytes) : null;
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    /**
+     * Stores the task unless the key is already present. Callers remove the key whenever its value
+     * changes, so a present record is the same value. Records over a segment's capacity are skipped.
+     */
+    public void putIfAbsent(Object key, TaskResponse value) {
+        UUID id = UUID.fromString(key.toString());
+        segment(id).putIfAbsent(id.getMostSignificantBits(), id.getLeastSignificantBits(),
+            TaskResponseCodec.encode(value), ticker.read());
+    }
+
+    public void remove(Object key) {
+        UUID id = UUID.fromString(key.toString());
+        segment(id).remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    public long liveBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.liveBytes;
+        }
+        return bytes;
+    }
+
+    private double capacity() {
+        return (double) segments.length * segments[0].capacity;
+    }
+
+    private Segment segment(UUID id) {
+        // High bits pick the segment, low bits the index slot
+        return segments[(int) (hash(id.getMostSignificantBits(), id.getLeastSignificantBits()) >>> 40) & (segments.length - 1)];
+    }
+
+    private static long hash(long hi, long lo) {
+        long h = (hi ^ Long.rotateLeft(lo, 32)) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static Counter tierCounter(MeterRegistry registry, String cacheName, String result) {
+        return Counter.builder("cache.tier.gets")
+            .description("Tiered cache lookups per tier")
+            .tag("cache", cacheName)
+            .tag("tier", "offheap")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ByteBuffer data;
+        private final ByteBuffer index;
+        private final int capacity;
+        private final int mask;
+        private final int maxCount;
+        private int head;
+        private int tail;
+        private int used;
+        private volatile int count;
+        private volatile long liveBytes;
+
+        Segment(int capacity, int slots) {
+            this.capacity = capacity;
+            this.data = ByteBuffer.allocateDirect(capacity);
+            this.index = ByteBuffer.allocateDirect(slots * SLOT);
+            this.mask = slots - 1;
+            this.maxCount = (int) (slots * MAX_LOAD);
+        }
+
+        byte[] get(long hi, long lo, long now) {
+            lock.lock();
+            try {
+                int slot = find(hi, lo);
+                if (slot < 0) {
+                    return null;
+                }
+                int offset = offset(slot);
+                if (now - data.getLong(offset + 24) > expireAfterWriteNanos) {
+                    removeSlot(slot);
+                    return null;
+                }
+                index.putInt(slot * SLOT + 20, 1);
+                byte[] bytes = new byte[data.getInt(offset + 4)];
+                data.get(offset + HEADER, bytes);
+                return bytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putIfAbsent(long hi, long lo, byte[] payload, long now) {
+            int length = (HEADER + payload.length + 7) & ~7;
+            if (length > capacity) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (find(hi, lo) >= 0) {
+                    return;
+                }
+                while (count >= maxCount) {
+                    evictHead();
+                }
+                int offset;
+                while ((offset = reserve(length)) < 0) {
+                    evictHead();
+                }
+                data.putInt(offset, length);
+                data.putInt(offset + 4, payload.length);
+                data.putLong(offset + 8, hi);
+                data.putLong(offset + 16, lo);
+                data.putLong(offset + 24, now);
+                data.put(offset + HEADER, payload);
+                insert(hi, lo, offset);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(long hi, long lo) {
+            lock.lock();
+            try {
+                int slot = find(hi, lo);
+                if (slot >= 0) {
+                    removeSlot(slot);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                for (int slot = 0; slot <= mask; slot++) {
+                    index.putInt(slot * SLOT + 16, 0);
+                }
+                head = 0;
+                tail = 0;
+                used = 0;
+                count = 0;
+                liveBytes = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Claims {@code length} contiguous bytes at the tail, padding the end to wrap, or returns -1. */
+        private int reserve(int length) {
+            if (used == 0) {
+                head = 0;
+                tail = 0;
+            }
+            if (tail >= head && used < capacity) {
+                if (capacity - tail >= length) {
+                    return append(length);
+                }
+                if (head >= length) {
+                    data.putInt(tail, -(capacity - tail));
+                    used += capacity - tail;
+                    tail = 0;
+                    return append(length);
+                }
+                return -1;
+            }
+            return tail < head && head - tail >= length ? append(length) : -1;
+        }
+
+        private int append(int length) {
+            int offset = tail;
+            tail += length;
+            used += length;
+            if (tail == capacity) {
+                tail = 0;
+            }
+            return offset;
+        }
+
+        /** Reclaims the record at the head: skips padding and garbage, re-appends referenced records. */
+        private void evictHead() {
+            int length = data.getInt(head);
+            if (length < 0) {
+                advanceHead(-length);
+                return;
+            }
+            int slot = find(data.getLong(head + 8), data.getLong(head + 16));
+            if (slot < 0 || offset(slot) != head) {
+                advanceHead(length);
+                return;
+            }
+            if (index.getInt(slot * SLOT + 20) != 0) {
+                byte[] record = new byte[length];
+                data.get(head, record);
+                advanceHead(length);
+                int offset = reserve(length);
+                if (offset >= 0) {
+                    data.put(offset, record);
+                    index.putInt(slot * SLOT + 16, offset + 1);
+                    index.putInt(slot * SLOT + 20, 0);
+                    return;
+                }
+            } else {
+                advanceHead(length);
+            }
+            removeSlot(slot);
+            evictions.increment();
+        }
+
+        private void advanceHead(int length) {
+            head += length;
+            used -= length;
+            if (head == capacity) {
+                head = 0;
+            }
+        }
+
+        private int find(long hi, long lo) {
+            int slot = (int) hash(hi, lo) & mask;
+            while (index.getInt(slot * SLOT + 16) != 0) {
+                if (index.getLong(slot * SLOT) == hi && index.getLong(slot * SLOT + 8) == lo) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int offset(int slot) {
+            return index.getInt(slot * SLOT + 16) - 1;
+        }
+
+        private void insert(long hi, long lo, int offset) {
+            int slot = (int) hash(hi, lo) & mask;
+            while (index.getInt(slot * SLOT + 16) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index.putLong(slot * SLOT, hi);
+            index.putLong(slot * SLOT + 8, lo);
+            index.putInt(slot * SLOT + 16, offset + 1);
+            index.putInt(slot * SLOT + 20, 0);
+            count++;
+            liveBytes += data.getInt(offset);
+        }
+
+        /** Empties the slot and shifts later entries of the probe run back, so lookups need no tombstones. */
+        private void removeSlot(int slot) {
+            liveBytes -= data.getInt(offset(slot));
+            count--;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (index.getInt(next * SLOT + 16) != 0) {
+                int home = (int) hash(index.getLong(next * SLOT), index.getLong(next * SLOT + 8)) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    for (int i = 0; i < SLOT; i += 4) {
+                        index.putInt(hole * SLOT + i, index.getInt(next * SLOT + i));
+                    }
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            index.putInt(hole * SLOT + 16, 0);
+        }
+    }
+}
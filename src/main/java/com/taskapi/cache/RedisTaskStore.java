@@ -0,0 +1,151 @@
+package com.taskapi.cache;
+
+import com.taskapi.dto.TaskResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Shared Redis tier (L2) for {@link LoadingTaskCache}, holding {@link TaskResponseCodec} bytes.
+ * <p>
+ * Loaded values are written off the request thread and only if the key is absent ({@code SET NX});
+ * write-through puts overwrite it synchronously, so a node's puts and evictions reach Redis in order.
+ * Evictions replace the value with a short-lived tombstone instead of deleting it, so a load that
+ * started before the write cannot re-add the old value. Redis errors are treated as misses: L2 is an
+ * accelerator, not a dependency.
+ */
+@Slf4j
+public class RedisTaskStore {
+
+    private static final byte[] TOMBSTONE = { 0 };
+
+    private final RedisTemplate<String, byte[]> redis;
+    private final Executor writer;
+    private final Duration ttl;
+    private final Duration tombstoneTtl;
+    private final String prefix;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    public RedisTaskStore(String cacheName, RedisTemplate<String, byte[]> redis, Executor writer, Duration ttl,
+                          Duration tombstoneTtl, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.writer = writer;
+        this.ttl = ttl;
+        this.tombstoneTtl = tombstoneTtl;
+        this.prefix = "task-api:" + cacheName + ":";
+        this.hits = counter(meterRegistry, cacheName, "hit");
+        this.misses = counter(meterRegistry, cacheName, "miss");
+        this.errors = counter(meterRegistry, cacheName, "error");
+    }
+
+    /** The stored task, or {@code null} on a miss, a tombstone or a Redis error. */
+    public TaskResponse get(Object key) {
+        try {
+            byte[] bytes = redis.opsForValue().get(prefix + key);
+            TaskResponse value = bytes != null ? TaskResponseCodec.decode(bytes) : null;
+            (value != null ? hits : misses).increment();
+            return value;
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.debug("L2 read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /** The stored tasks for these keys in one MGET; misses, tombstones and errors are left out. */
+    public Map<Object, TaskResponse> getAll(Collection<?> keys) {
+        Map<Object, TaskResponse> found = new HashMap<>();
+        try {
+            List<Object> ordered = new ArrayList<>(keys);
+            List<byte[]> values = redis.opsForValue().multiGet(ordered.stream().map(key -> prefix + key).toList());
+            for (int i = 0; i < ordered.size(); i++) {
+                byte[] bytes = values != null ? values.get(i) : null;
+                TaskResponse value = bytes != null ? TaskResponseCodec.decode(bytes) : null;
+                if (value != null) {
+                    found.put(ordered.get(i), value);
+                }
+            }
+            hits.increment(found.size());
+            misses.increment(keys.size() - found.size());
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.debug("L2 batch read of {} keys failed: {}", keys.size(), e.getMessage());
+        }
+        return found;
+    }
+
+    /** Stores a loaded value in the background unless the key (or its tombstone) is already there. */
+    public void fillIfAbsent(Object key, TaskResponse value) {
+        byte[] bytes = TaskResponseCodec.encode(value);
+        try {
+            writer.execute(() -> {
+                try {
+                    redis.opsForValue().setIfAbsent(prefix + key, bytes, ttl);
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    log.debug("L2 fill failed for {}: {}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Writer queue full: skip L2, the value is still in L1
+            errors.increment();
+        }
+    }
+
+    /** Write-through of a committed value. */
+    public void put(Object key, TaskResponse value) {
+        try {
+            redis.opsForValue().set(prefix + key, TaskResponseCodec.encode(value), ttl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            evict(key);
+        }
+    }
+
+    public void evict(Object key) {
+        try {
+            redis.opsForValue().set(prefix + key, TOMBSTONE, tombstoneTtl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Could not evict {} from L2; it may be served until its TTL", key, e);
+        }
+    }
+
+    public void clear() {
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redis.scan(ScanOptions.scanOptions().match(prefix + "*").count(1000).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redis.delete(keys);
+            }
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Could not clear L2 under {}", prefix, e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String cacheName, String result) {
+        return Counter.builder("cache.tier.gets")
+            .description("Tiered cache lookups per tier")
+            .tag("cache", cacheName)
+            .tag("tier", "l2")
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskapi.dto.ApiResponse;
+import com.taskapi.dto.TaskResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * The {@code GET /tasks/{id}} response body ({@code ApiResponse<TaskResponse>} as UTF-8 JSON) rendered
+ * once per cached {@link TaskResponse}, so cache hits are written to the response without Jackson.
+ * <p>
+ * Entries are keyed by the identity of the {@code TaskResponse} instance held in the {@code tasks}
+ * cache, with weak keys. A put, refresh or eviction there replaces or drops that instance, which
+ * makes its bytes unreachable too: this cache is invalidated exactly when the DTO cache is, on every
+ * path (write-through, bulk and remote evictions), without its own invalidation calls.
+ */
+@Component
+public class SerializedTaskCache {
+
+    private final ObjectWriter writer;
+    private final Cache<TaskResponse, SerializedTask> rendered;
+
+    public SerializedTaskCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${app.cache.task-json.enabled:true}") boolean enabled,
+                               @Value("${app.cache.task-json.maximum-size:1000}") long maximumSize) {
+        this.writer = objectMapper.writerFor(
+            objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, TaskResponse.class));
+        this.rendered = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(enabled ? maximumSize : 0)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rendered, "taskJson", "cache.manager", "serialized");
+    }
+
+    /** The rendered body and ETag for this task, reusing the bytes rendered for the same instance. */
+    public SerializedTask get(TaskResponse task) {
+        return rendered.get(task, this::render);
+    }
+
+    private SerializedTask render(TaskResponse task) {
+        try {
+            return new SerializedTask(writer.writeValueAsBytes(ApiResponse.success(task)), etag(task));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Strong validator: every write bumps the version, so id and version identify the representation. */
+    public static String etag(TaskResponse task) {
+        return "\"" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+
+    public record SerializedTask(byte[] json, String etag) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.taskapi.cache;
+
+import com.taskapi.dto.TaskResponse;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/** Source of truth behind {@link LoadingTaskCache}: loads a task, or returns {@code null} if it does not exist. */
+@FunctionalInterface
+public interface TaskCacheLoader {
+
+    TaskResponse load(UUID id);
+
+    /** Loads several tasks at once; ids that do not exist are left out of the result. */
+    default Map<UUID, TaskResponse> loadAll(Collection<UUID> ids) {
+        Map<UUID, TaskResponse> loaded = new HashMap<>();
+        for (UUID id : ids) {
+            TaskResponse task = load(id);
+            if (task != null) {
+                loaded.put(id, task);
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskapi.cache;
+
+import com.taskapi.domain.TaskPriority;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary form of a {@link TaskResponse} for the shared cache tier: a format byte, the id as
+ * two longs, strings as modified UTF-8 behind a presence flag, enums by name and instants as seconds
+ * plus nanos. It is smaller than the JSON form and decodes without reflection.
+ * <p>
+ * Changing the layout requires a new {@link #FORMAT}: entries written in another format decode as
+ * {@code null} (a cache miss) instead of failing.
+ */
+public final class TaskResponseCodec {
+
+    static final byte FORMAT = 1;
+
+    private TaskResponseCodec() {
+    }
+
+    public static byte[] encode(TaskResponse task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(task.getId().getMostSignificantBits());
+            out.writeLong(task.getId().getLeastSignificantBits());
+            writeString(out, task.getTitle());
+            writeString(out, task.getDescription());
+            writeString(out, task.getStatus() != null ? task.getStatus().name() : null);
+            writeString(out, task.getPriority() != null ? task.getPriority().name() : null);
+            writeInstant(out, task.getDueDate());
+            writeString(out, task.getAssignee());
+            List<String> tags = task.getTags() != null ? task.getTags() : List.of();
+            out.writeShort(tags.size());
+            for (String tag : tags) {
+                out.writeUTF(tag);
+            }
+            out.writeLong(task.getVersion() != null ? task.getVersion() : -1);
+            writeInstant(out, task.getCreatedAt());
+            writeInstant(out, task.getUpdatedAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Returns the task, or {@code null} when the bytes were written in a different format. */
+    public static TaskResponse decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != FORMAT) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            TaskResponse.TaskResponseBuilder task = TaskResponse.builder()
+                .id(new UUID(in.readLong(), in.readLong()))
+                .title(readString(in))
+                .description(readString(in));
+            String status = readString(in);
+            String priority = readString(in);
+            task.status(status != null ? TaskStatus.valueOf(status) : null)
+                .priority(priority != null ? TaskPriority.valueOf(priority) : null)
+                .dueDate(readInstant(in))
+                .assignee(readString(in));
+            int tagCount = in.readUnsignedShort();
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(in.readUTF());
+            }
+            long version = in.readLong();
+            return task.tags(tags)
+                .version(version >= 0 ? version : null)
+                .createdAt(readInstant(in))
+                .updatedAt(readInstant(in))
+                .build();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.taskapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The executor behind {@code @Async} methods and async MVC requests (streamed exports), replacing
+ * Spring Boot's default pool and its unbounded queue.
+ * <ul>
+ *   <li>{@code platform}: a thread pool of {@code core-size} to {@code max-size} threads over a queue
+ *   of {@code queue-capacity} tasks.</li>
+ *   <li>{@code virtual}: a virtual thread per task, at most {@code max-concurrency} at once; a
+ *   submitter waits up to {@code acquire-timeout} for a slot.</li>
+ * </ul>
+ * When it is full, {@code rejection=abort} rejects the task (503 for a request) and
+ * {@code caller-runs} runs it on the submitting thread. Both modes publish {@code async.executor.*}:
+ * active and queued gauges, wait and execution timers, and rejections.
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final String METRIC_PREFIX = "async.executor";
+
+    private final AsyncTaskExecutor executor;
+
+    public AsyncConfig(MeterRegistry meterRegistry,
+                       @Value("${app.async.mode:platform}") String mode,
+                       @Value("${app.async.core-size:4}") int coreSize,
+                       @Value("${app.async.max-size:16}") int maxSize,
+                       @Value("${app.async.queue-capacity:100}") int queueCapacity,
+                       @Value("${app.async.max-concurrency:200}") int maxConcurrency,
+                       @Value("${app.async.acquire-timeout:100ms}") Duration acquireTimeout,
+                       @Value("${app.async.rejection:abort}") String rejection) {
+        boolean virtual = parse(mode, "mode", "platform", "virtual").equals("virtual");
+        boolean callerRuns = parse(rejection, "rejection", "abort", "caller-runs").equals("caller-runs");
+        Tags tags = Tags.of("mode", virtual ? "virtual" : "platform");
+        Counter rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+            .description("Async tasks that found the executor full")
+            .tags(tags.and("policy", callerRuns ? "caller-runs" : "abort"))
+            .register(meterRegistry);
+        TaskDecorator timing = timing(meterRegistry, tags);
+        if (virtual) {
+            PermitLimitedExecutor limited = new PermitLimitedExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-vt-", 0).factory()),
+                maxConcurrency, acquireTimeout, callerRuns, rejected::increment);
+            ConcurrentTaskExecutor concurrent = new ConcurrentTaskExecutor(limited);
+            concurrent.setTaskDecorator(timing);
+            gauges(meterRegistry, tags, limited, PermitLimitedExecutor::active, PermitLimitedExecutor::waiting);
+            this.executor = concurrent;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("async-");
+            pool.setCorePoolSize(coreSize);
+            pool.setMaxPoolSize(maxSize);
+            pool.setQueueCapacity(queueCapacity);
+            pool.setTaskDecorator(timing);
+            RejectedExecutionHandler policy = callerRuns
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+            pool.setRejectedExecutionHandler((task, threadPool) -> {
+                rejected.increment();
+                policy.rejectedExecution(task, threadPool);
+            });
+            pool.setWaitForTasksToCompleteOnShutdown(true);
+            pool.setAwaitTerminationSeconds(30);
+            pool.initialize();
+            gauges(meterRegistry, tags, pool, ThreadPoolTaskExecutor::getActiveCount,
+                p -> p.getThreadPoolExecutor().getQueue().size());
+            this.executor = pool;
+        }
+    }
+
+    /** Named like Spring Boot's default so async MVC requests pick it up as well. */
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return executor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async method {} failed", method.getName(), ex);
+    }
+
+    /** Records how long each task waited to start and how long it ran. */
+    private static TaskDecorator timing(MeterRegistry meterRegistry, Tags tags) {
+        Timer wait = Timer.builder(METRIC_PREFIX + ".wait")
+            .description("Time async tasks spent queued before starting")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Timer execution = Timer.builder(METRIC_PREFIX + ".execution")
+            .description("Time async tasks spent running")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        return task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                wait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    execution.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    private static <T> void gauges(MeterRegistry meterRegistry, Tags tags, T executor,
+                                   ToDoubleFunction<T> active,
+                                   ToDoubleFunction<T> queued) {
+        Gauge.builder(METRIC_PREFIX + ".active", executor, active)
+            .description("Async tasks currently running")
+            .tags(tags)
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", executor, queued)
+            .description("Async tasks waiting for a thread (platform) or a permit (virtual)")
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private static String parse(String value, String property, String... allowed) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (String option : allowed) {
+            if (option.equals(normalized)) {
+                return option;
+            }
+        }
+        throw new IllegalArgumentException("app.async." + property + " must be one of " + String.join(", ", allowed)
+            + ", was '" + value + "'");
+    }
+}
@@ -1,25 +1,146 @@
 package com.taskapi.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskapi.cache.LoadingTaskCache;
+import com.taskapi.cache.OffHeapTaskStore;
+import com.taskapi.cache.RedisTaskStore;
+import com.taskapi.cache.TaskCacheLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Caffeine caches by default. The {@code tasks} cache is a {@link LoadingTaskCache} (single-flight
+ * loads, refresh-ahead, stale-if-error); with {@code spring.cache.type=redis} (env
+ * {@code CACHE_PROVIDER}) it also gets a shared Redis L2 and a shorter per-node L1 TTL. List and count
+ * caches stay local either way, since their generation counters are per node. With
+ * {@code app.cache.off-heap.enabled} an {@link OffHeapTaskStore} holds what L1 evicts for size.
+ */
 @Configuration
 public class CacheConfig {
 
     @Bean
     @Primary
-    public CacheManager cacheManager() {
-        CaffeineCacheManager manager = new CaffeineCacheManager("tasks", "taskList");
-        manager.setCaffeine(Caffeine.newBuilder()
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${app.list.count-cache-ttl:10s}") Duration countTtl,
+                                     @Value("${app.cache.tasks.expire-after-write:5m}") Duration expireAfterWrite,
+                                     @Value("${app.cache.tasks.refresh-after-write:4m}") Duration refreshAfterWrite,
+                                     @Value("${app.cache.tasks.stale-if-error:15m}") Duration staleIfError,
+                                     @Value("${app.cache.tasks.loader-threads:4}") int loaderThreads,
+                                     ObjectProvider<TaskCacheLoader> taskLoader,
+                                     ObjectProvider<OffHeapTaskStore> offHeap,
+                                     MeterRegistry meterRegistry) {
+        return cacheManager(new LoadingTaskCache("tasks", 1000, expireAfterWrite, refreshAfterWrite, staleIfError,
+            taskLoader::getObject, offHeap.getIfAvailable(), null, loaderExecutor(loaderThreads), meterRegistry,
+            Tags.of("cache.manager", "cacheManager")), countTtl);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public CacheManager tieredCacheManager(@Value("${app.list.count-cache-ttl:10s}") Duration countTtl,
+                                           @Value("${app.cache.tiered.l1-ttl:30s}") Duration l1Ttl,
+                                           @Value("${app.cache.tiered.l1-refresh:25s}") Duration l1Refresh,
+                                           @Value("${app.cache.tiered.l2-ttl:30m}") Duration l2Ttl,
+                                           @Value("${app.cache.tiered.tombstone-ttl:10s}") Duration tombstoneTtl,
+                                           @Value("${app.cache.tasks.stale-if-error:15m}") Duration staleIfError,
+                                           @Value("${app.cache.tasks.loader-threads:4}") int loaderThreads,
+                                           ObjectProvider<TaskCacheLoader> taskLoader,
+                                           ObjectProvider<OffHeapTaskStore> offHeap,
+                                           LettuceConnectionFactory redisConnectionFactory,
+                                           MeterRegistry meterRegistry) {
+        RedisTemplate<String, byte[]> redis = new RedisTemplate<>();
+        redis.setConnectionFactory(redisConnectionFactory);
+        redis.setKeySerializer(RedisSerializer.string());
+        redis.setValueSerializer(RedisSerializer.byteArray());
+        redis.afterPropertiesSet();
+        // L2 fills are best effort: a full queue drops the fill rather than slowing the request
+        ThreadPoolExecutor l2Writer = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(10_000), Thread.ofPlatform().daemon().name("cache-l2-writer-", 0).factory());
+        RedisTaskStore l2 = new RedisTaskStore("tasks", redis, l2Writer, l2Ttl, tombstoneTtl, meterRegistry);
+
+        return cacheManager(new LoadingTaskCache("tasks", 1000, l1Ttl, l1Refresh, staleIfError,
+            taskLoader::getObject, offHeap.getIfAvailable(), l2, loaderExecutor(loaderThreads), meterRegistry,
+            Tags.of("cache.manager", "tiered")), countTtl);
+    }
+
+    /**
+     * Large node-local tier behind the 1000-entry L1, for working sets that do not fit on the heap.
+     * Needs {@code -XX:MaxDirectMemorySize} above the capacity plus the index.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.off-heap.enabled", havingValue = "true")
+    public OffHeapTaskStore offHeapTaskStore(@Value("${app.cache.off-heap.capacity:256MB}") DataSize capacity,
+                                             @Value("${app.cache.off-heap.max-entries:1000000}") long maxEntries,
+                                             @Value("${app.cache.off-heap.segments:16}") int segments,
+                                             @Value("${app.cache.off-heap.expire-after-write:30m}") Duration expireAfterWrite,
+                                             MeterRegistry meterRegistry) {
+        return new OffHeapTaskStore("tasks", capacity.toBytes(), maxEntries, segments, expireAfterWrite, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public LettuceConnectionFactory redisConnectionFactory(@Value("${spring.data.redis.host:localhost}") String host,
+                                                           @Value("${spring.data.redis.port:6379}") int port,
+                                                           @Value("${spring.data.redis.password:}") String password) {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+        if (!password.isEmpty()) {
+            configuration.setPassword(password);
+        }
+        return new LettuceConnectionFactory(configuration);
+    }
+
+    private static CacheManager cacheManager(LoadingTaskCache tasks, Duration countTtl) {
+        SimpleCacheManager manager = new SimpleCacheManager();
+        manager.setCaches(List.of(
+            tasks,
+            new CaffeineCache("taskList", Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .recordStats()
+                .build()),
+            new CaffeineCache("taskCount", countCache(countTtl))));
+        manager.initializeCaches();
+        // Puts and evictions issued inside a transaction are applied after commit, so a write-through
+        // never publishes a row that is later rolled back
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    /** Runs task loads and refreshes; bounded so a slow database cannot pile up loader threads. */
+    private static Executor loaderExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads,
+            Thread.ofPlatform().daemon().name("task-cache-loader-", 0).factory());
+    }
+
+    /** Exact list totals, invalidated by TaskListCache generations; the TTL only bounds memory use. */
+    private static Cache<Object, Object> countCache(Duration countTtl) {
+        return Caffeine.newBuilder()
             .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .recordStats());
-        return manager;
+            .expireAfterWrite(countTtl)
+            .recordStats()
+            .build();
     }
 }
@@ -0,0 +1,60 @@
+package com.taskapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * The main pool (JPA, Flyway, JdbcTemplate) plus a small dedicated pool for exports. An export holds
+ * its connection for as long as the client keeps reading, so it must never borrow from the OLTP pool.
+ * Connections of the main pool taken by request threads are handed out through {@link DbPermitLimiter}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /** Wraps the main pool once its {@code spring.datasource.hikari} properties are bound. */
+    @Bean
+    public static BeanPostProcessor dbPermitDataSourcePostProcessor(ObjectProvider<DbPermitLimiter> limiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return beanName.equals("dataSource") && bean instanceof HikariDataSource dataSource
+                    ? new PermitLimitedDataSource(dataSource, limiter)
+                    : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HikariDataSource exportDataSource(DataSourceProperties properties,
+                                             @Value("${app.export.pool-size:2}") int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("export");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        // pgjdbc only honours fetchSize (a server-side cursor) inside a transaction
+        dataSource.setAutoCommit(false);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,155 @@
+package com.taskapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many connections of the main pool are handed out to request threads at once, in arrival order. With virtual
+ * threads there is no request thread pool left to bound concurrency, so thousands of requests can
+ * reach the 10-connection pool together and queue inside Hikari until {@code connection-timeout}.
+ * Here they queue on a fair semaphore instead, which is metered, and a caller that has waited
+ * {@code acquire-timeout} fails at once with 503 and {@code Retry-After}.
+ * <p>
+ * Threads outside a request (the outbox relay, the change-feed tailer and replays, cache warming and the
+ * cache loader threads) draw from a second fair semaphore of {@code background-max} permits instead.
+ * They are not clients that a 503 could send away, so they wait up to {@code background-timeout} and then
+ * fail like Hikari would. With {@code max-concurrent + background-max} no larger than the pool, holding a
+ * permit means a connection is free and Hikari itself never queues. Metrics: {@code db.permits.active},
+ * {@code db.permits.waiting}, {@code db.permits.wait}, {@code db.permits.rejected},
+ * {@code db.permits.background.active} and {@code db.permits.background.waiting}.
+ */
+@Component
+@Slf4j
+public class DbPermitLimiter {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final Duration retryAfter;
+    private final Semaphore backgroundPermits;
+    private final int backgroundMax;
+    private final Duration backgroundTimeout;
+    private final Timer waits;
+    private final Counter rejected;
+
+    public DbPermitLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.db-permits.enabled:true}") boolean enabled,
+                           @Value("${app.db-permits.max-concurrent:6}") int maxConcurrent,
+                           @Value("${app.db-permits.acquire-timeout:500ms}") Duration acquireTimeout,
+                           @Value("${app.db-permits.retry-after:1s}") Duration retryAfter,
+                           @Value("${app.db-permits.background-max:4}") int backgroundMax,
+                           @Value("${app.db-permits.background-timeout:30s}") Duration backgroundTimeout,
+                           @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.enabled = enabled;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.retryAfter = retryAfter;
+        this.backgroundPermits = new Semaphore(backgroundMax, true);
+        this.backgroundMax = backgroundMax;
+        this.backgroundTimeout = backgroundTimeout;
+        if (enabled && maxConcurrent + backgroundMax > poolSize) {
+            log.warn("app.db-permits.max-concurrent ({}) + background-max ({}) exceeds the pool size ({}); "
+                + "permit holders may still queue in Hikari", maxConcurrent, backgroundMax, poolSize);
+        }
+        this.waits = Timer.builder("db.permits.wait")
+            .description("Time spent waiting for a database permit, granted or not")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejected = Counter.builder("db.permits.rejected")
+            .description("Connection requests that found no database permit within the wait budget")
+            .register(meterRegistry);
+        Gauge.builder("db.permits.active", this, limiter -> limiter.maxConcurrent - limiter.permits.availablePermits())
+            .description("Connections of the main pool currently handed out")
+            .register(meterRegistry);
+        Gauge.builder("db.permits.waiting", permits, Semaphore::getQueueLength)
+            .description("Callers waiting for a database permit")
+            .register(meterRegistry);
+        Gauge.builder("db.permits.background.active", this,
+                limiter -> limiter.backgroundMax - limiter.backgroundPermits.availablePermits())
+            .description("Connections of the main pool currently held by background work")
+            .register(meterRegistry);
+        Gauge.builder("db.permits.background.waiting", backgroundPermits, Semaphore::getQueueLength)
+            .description("Background threads waiting for a database permit")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Takes a permit, waiting at most {@code acquire-timeout}; every successful call needs one {@link #release}. */
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            waits.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new Unavailable(retryAfter);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Takes a background permit, waiting at most {@code background-timeout}; returns false when none
+     * became free. Every successful call needs one {@link #releaseBackground}.
+     */
+    public boolean acquireBackground() {
+        try {
+            return backgroundPermits.tryAcquire(backgroundTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void releaseBackground() {
+        backgroundPermits.release();
+    }
+
+    Duration backgroundTimeout() {
+        return backgroundTimeout;
+    }
+
+    /** 503 with a {@code Retry-After} header, raised when the wait budget runs out. */
+    public static final class Unavailable extends ResponseStatusException {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        Unavailable(Duration retryAfter) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, "Database is busy; retry later");
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskapi.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds a {@link DbPermitLimiter} permit for as long as each connection is open. Request threads take
+ * one of the request permits and may be turned away with 503. Background work (the outbox relay, the
+ * change-feed tailer and replays, cache warming and loading) takes a background permit instead, so it
+ * neither competes with queued requests nor grows past the connections left for it. The limiter is
+ * looked up on first use, since the data source is created before the meter registry.
+ */
+final class PermitLimitedDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<DbPermitLimiter> limiterProvider;
+    private volatile DbPermitLimiter limiter;
+
+    PermitLimitedDataSource(DataSource target, ObjectProvider<DbPermitLimiter> limiterProvider) {
+        super(target);
+        this.limiterProvider = limiterProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limited(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    private Connection limited(ConnectionSource source) throws SQLException {
+        DbPermitLimiter permits = limiter();
+        if (!permits.isEnabled()) {
+            return source.get();
+        }
+        Runnable release;
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            permits.acquire();
+            release = permits::release;
+        } else {
+            if (!permits.acquireBackground()) {
+                throw new SQLTransientConnectionException(
+                    "No background database permit free within " + permits.backgroundTimeout());
+            }
+            release = permits::releaseBackground;
+        }
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    default -> {
+                    }
+                }
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        release.run();
+                    }
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+
+    private DbPermitLimiter limiter() {
+        DbPermitLimiter current = limiter;
+        if (current == null) {
+            current = limiterProvider.getObject();
+            limiter = current;
+        }
+        return current;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskapi.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each task on its own thread from {@code delegate} (virtual threads here), with at most
+ * {@code permits} running at once. A submitter waits up to {@code acquireTimeout} for a permit; after
+ * that the task is rejected, or run on the submitting thread with {@code callerRuns}.
+ */
+final class PermitLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+    private final boolean callerRuns;
+    private final Runnable onRejected;
+
+    PermitLimitedExecutor(Executor delegate, int maxConcurrency, Duration acquireTimeout, boolean callerRuns,
+                          Runnable onRejected) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.callerRuns = callerRuns;
+        this.onRejected = onRejected;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!acquire()) {
+            onRejected.run();
+            if (callerRuns) {
+                task.run();
+                return;
+            }
+            throw new RejectedExecutionException("All " + maxConcurrency + " async permits are in use");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    int active() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /** Submitters currently waiting for a permit. */
+    int waiting() {
+        return permits.getQueueLength();
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.taskapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports where virtual threads pin their carrier. A virtual thread that blocks inside
+ * {@code synchronized} (or a native frame) cannot unmount, so it holds one of the few carrier threads
+ * for the whole wait; under load that starves every other virtual thread.
+ * <p>
+ * A JFR stream records {@code jdk.VirtualThreadPinned} events longer than {@code threshold}. Each event
+ * is attributed to the innermost frame outside the JDK (for example a Hibernate or pgjdbc method),
+ * counted in {@code jvm.threads.virtual.pinned{site}}, and logged with its stack the first time the
+ * site is seen. {@code GET /actuator/pinning} lists the sites by total pinned time. Enabled by default
+ * together with {@code spring.threads.virtual.enabled}.
+ */
+@Component
+@Endpoint(id = "pinning")
+@Slf4j
+public class VirtualThreadPinningReport implements SmartLifecycle {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String OTHER = "other";
+    private static final int STACK_DEPTH = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration threshold;
+    private final int maxSites;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningReport(MeterRegistry meterRegistry,
+                                      @Value("${app.pinning-report.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                                      @Value("${app.pinning-report.threshold:20ms}") Duration threshold,
+                                      @Value("${app.pinning-report.max-sites:50}") int maxSites) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxSites = maxSites;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<Map<String, Object>> bySite = new ArrayList<>();
+        sites.values().stream()
+            .sorted(Comparator.comparingLong((Site site) -> site.totalNanos.get()).reversed())
+            .forEach(site -> {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("site", site.name);
+                entry.put("count", site.count.get());
+                entry.put("totalMillis", site.totalNanos.get() / 1_000_000);
+                entry.put("maxMillis", site.maxNanos.get() / 1_000_000);
+                entry.put("stack", site.stack);
+                bySite.add(entry);
+            });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("threshold", threshold.toString());
+        report.put("sites", bySite);
+        return report;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, this::pinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void pinned(RecordedEvent event) {
+        List<String> stack = stack(event.getStackTrace());
+        String name = stack.stream().filter(frame -> !isJdk(frame)).findFirst()
+            .orElse(stack.isEmpty() ? OTHER : stack.get(0));
+        Site site = sites.get(name);
+        if (site == null) {
+            // Bounded, so a long-running node cannot grow one meter per call site forever
+            name = sites.size() < maxSites ? name : OTHER;
+            String siteName = name;
+            site = sites.computeIfAbsent(name, key -> {
+                log.warn("Virtual thread pinned its carrier for {} ms at {}:\n\tat {}",
+                    event.getDuration().toMillis(), siteName, String.join("\n\tat ", stack));
+                return new Site(siteName, stack, Timer.builder("jvm.threads.virtual.pinned")
+                    .description("Virtual threads that blocked while pinned to their carrier, by call site")
+                    .tag("site", siteName)
+                    .register(meterRegistry));
+            });
+        }
+        site.record(event.getDuration().toNanos());
+    }
+
+    private static List<String> stack(RecordedStackTrace trace) {
+        if (trace == null) {
+            return List.of();
+        }
+        return trace.getFrames().stream()
+            .filter(RecordedFrame::isJavaFrame)
+            .limit(STACK_DEPTH)
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber())
+            .toList();
+    }
+
+    private static boolean isJdk(String frame) {
+        return frame.startsWith("java.") || frame.startsWith("jdk.") || frame.startsWith("sun.");
+    }
+
+    private static final class Site {
+
+        private final String name;
+        private final List<String> stack;
+        private final Timer timer;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Site(String name, List<String> stack, Timer timer) {
+            this.name = name;
+            this.stack = stack;
+            this.timer = timer;
+        }
+
+        private void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            timer.record(Duration.ofNanos(nanos));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.taskapi.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -27,6 +28,7 @@ public class TaskEvent {
     private TaskEventType type;
 
     @Column(columnDefinition = "jsonb")
+    @ColumnTransformer(write = "?::jsonb")
     private String payload;
 
     @Column(name = "created_at", nullable = false, updatable = false)
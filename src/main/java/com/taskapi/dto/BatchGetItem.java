@@ -0,0 +1,32 @@
+package com.taskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/** Result for one requested id of a batch get, reported at the id's position in the request. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchGetItem {
+
+    public enum Status { FOUND, NOT_FOUND }
+
+    private UUID id;
+    private Status status;
+    private TaskResponse task;
+
+    public static BatchGetItem found(TaskResponse task) {
+        return new BatchGetItem(task.getId(), Status.FOUND, task);
+    }
+
+    public static BatchGetItem notFound(UUID id) {
+        return new BatchGetItem(id, Status.NOT_FOUND, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskapi.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Ids to fetch in one call; results come back in this order. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    @NotEmpty(message = "ids is required")
+    private List<UUID> ids;
+}
@@ -0,0 +1,27 @@
+package com.taskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Outcome of a set-based bulk status change or delete. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkChangeResult {
+
+    private int affected;
+    /** Ids of the tasks that were changed. */
+    private List<UUID> ids;
+    /** Requested ids that exist but did not match the expected version (id mode only). */
+    private List<UUID> conflicts;
+    /** Requested ids that do not exist (id mode only). */
+    private List<UUID> notFound;
+}
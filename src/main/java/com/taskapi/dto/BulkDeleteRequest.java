@@ -0,0 +1,26 @@
+package com.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/** Deletion of many tasks, selected either by ids or by a list filter. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+
+    private List<UUID> ids;
+
+    /** Optional expected version per id; tasks at another version are reported as conflicts. */
+    private Map<UUID, Long> versions;
+
+    /** Alternative to ids; must contain at least one criterion. */
+    private TaskFilter filter;
+}
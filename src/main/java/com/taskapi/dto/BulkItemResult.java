@@ -0,0 +1,31 @@
+package com.taskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of one item of a bulk request, reported at the item's position in the request. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    public enum Status { CREATED, FAILED }
+
+    private int index;
+    private Status status;
+    private TaskResponse task;
+    private String error;
+
+    public static BulkItemResult created(int index, TaskResponse task) {
+        return new BulkItemResult(index, Status.CREATED, task, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskapi.dto;
+
+import com.taskapi.domain.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/** Status change for many tasks, selected either by ids or by a list filter. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateRequest {
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+
+    private List<UUID> ids;
+
+    /** Optional expected version per id; tasks at another version are reported as conflicts. */
+    private Map<UUID, Long> versions;
+
+    /** Alternative to ids; must contain at least one criterion. */
+    private TaskFilter filter;
+}
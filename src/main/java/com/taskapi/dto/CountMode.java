@@ -0,0 +1,14 @@
+package com.taskapi.dto;
+
+import java.util.Locale;
+
+/** How a list response computes its total: a real COUNT, the planner's estimate, or not at all. */
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static CountMode from(String value) {
+        return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskapi.dto;
+
+import java.util.Locale;
+
+/** Output of the task export: one JSON object per line, or CSV with a header row. */
+public enum ExportFormat {
+    NDJSON,
+    CSV;
+
+    public static ExportFormat from(String value) {
+        return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
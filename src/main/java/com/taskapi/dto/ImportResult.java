@@ -0,0 +1,31 @@
+package com.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Outcome of an NDJSON import: how many lines were loaded and which ones were rejected. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResult {
+
+    private long imported;
+    private long failed;
+    /** Rejected lines in input order, capped at app.import.max-reported-errors. */
+    private List<LineError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        /** 1-based line number in the request body. */
+        private long line;
+        private String message;
+    }
+}
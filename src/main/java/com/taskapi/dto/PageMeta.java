@@ -1,5 +1,6 @@
 package com.taskapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,12 +10,20 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageMeta {
 
-    private int page;
+    /** Page number in offset mode; absent in cursor mode. */
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    /** Absent when the list was requested with count=none. */
+    private Long totalElements;
+    private Integer totalPages;
+    /** exact, estimate or none; set on task list responses. */
+    private String countMode;
     private boolean first;
     private boolean last;
+    /** Opaque keyset tokens, present only in cursor mode when a page exists in that direction. */
+    private String nextCursor;
+    private String prevCursor;
 }
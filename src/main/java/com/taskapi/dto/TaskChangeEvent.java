@@ -0,0 +1,29 @@
+package com.taskapi.dto;
+
+import com.taskapi.domain.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Data of one event on {@code GET /tasks/stream}. {@code seq} is also the SSE event id. {@code task} is a
+ * current snapshot, read when the feed sends the event, not the state right after this change: later
+ * changes may already show in it, and each of them follows as its own event. For DELETED it is the last
+ * state before the delete.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangeEvent {
+
+    private long seq;
+    private TaskEventType type;
+    private UUID taskId;
+    private Instant occurredAt;
+    private TaskResponse task;
+}
@@ -0,0 +1,50 @@
+package com.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * List/search criteria shared by the list, cursor and export paths. Multi-valued fields match any of
+ * their values; null or empty means "no constraint".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskFilter {
+
+    private List<String> statuses;
+    private List<String> priorities;
+    private List<String> assignees;
+    private List<String> tags;
+    /** How {@link #tags} combine: task has ANY of them, or ALL of them. */
+    @Builder.Default
+    private TagMatch tagMatch = TagMatch.ANY;
+    private Instant dueBefore;
+    private Instant dueAfter;
+    private String textSearch;
+
+    public enum TagMatch {
+        ANY,
+        ALL
+    }
+
+    /** Adapter for the single-valued filter parameters of the original list API. */
+    public static TaskFilter of(String status, String priority, String assignee, String tag,
+                                Instant dueBefore, Instant dueAfter, String textSearch) {
+        return TaskFilter.builder()
+            .statuses(status != null ? List.of(status) : null)
+            .priorities(priority != null ? List.of(priority) : null)
+            .assignees(assignee != null ? List.of(assignee) : null)
+            .tags(tag != null ? List.of(tag) : null)
+            .dueBefore(dueBefore)
+            .dueAfter(dueAfter)
+            .textSearch(textSearch)
+            .build();
+    }
+}
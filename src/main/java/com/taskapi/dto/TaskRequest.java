@@ -35,4 +35,7 @@ public class TaskRequest {
     private String assignee;
 
     private List<@Size(max = 255) String> tags;
+
+    /** Expected current version on update; the write is rejected with 409 if it differs. Ignored on create. */
+    private Long version;
 }
@@ -13,4 +13,11 @@ public class TaskStatusUpdateRequest {
 
     @NotNull(message = "Status is required")
     private TaskStatus status;
+
+    /** Optional expected current version; the change is rejected with 409 if it differs. */
+    private Long version;
+
+    public TaskStatusUpdateRequest(TaskStatus status) {
+        this.status = status;
+    }
 }
@@ -0,0 +1,44 @@
+package com.taskapi.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cache invalidations committed by another node, or a full flush when this node may have missed some
+ * (for example after its listen connection was re-established).
+ */
+@Getter
+public class CacheInvalidationEvent extends ApplicationEvent {
+
+    private final boolean flushAll;
+    private final Set<UUID> taskIds;
+    private final Set<String> statuses;
+    private final Set<String> assignees;
+    private final Set<String> tags;
+
+    public CacheInvalidationEvent(Object source, Set<UUID> taskIds, Set<String> statuses,
+                                  Set<String> assignees, Set<String> tags) {
+        super(source);
+        this.flushAll = false;
+        this.taskIds = taskIds;
+        this.statuses = statuses;
+        this.assignees = assignees;
+        this.tags = tags;
+    }
+
+    private CacheInvalidationEvent(Object source) {
+        super(source);
+        this.flushAll = true;
+        this.taskIds = Set.of();
+        this.statuses = Set.of();
+        this.assignees = Set.of();
+        this.tags = Set.of();
+    }
+
+    public static CacheInvalidationEvent flushAll(Object source) {
+        return new CacheInvalidationEvent(source);
+    }
+}
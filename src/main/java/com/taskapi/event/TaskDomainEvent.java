@@ -1,21 +1,30 @@
 package com.taskapi.event;
 
-import com.taskapi.domain.Task;
 import com.taskapi.domain.TaskEventType;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Instant;
+import java.util.UUID;
+
 @Getter
 public class TaskDomainEvent extends ApplicationEvent {
 
-    private final Task task;
+    /** Stable across redeliveries of the same outbox entry; sinks can use it to deduplicate. */
+    private final UUID eventId;
+    private final UUID taskId;
     private final TaskEventType type;
     private final String payload;
+    /** When the change was recorded, not when the event was delivered. */
+    private final Instant occurredAt;
 
-    public TaskDomainEvent(Object source, Task task, TaskEventType type, String payload) {
+    public TaskDomainEvent(Object source, UUID eventId, UUID taskId, TaskEventType type, String payload,
+                           Instant occurredAt) {
         super(source);
-        this.task = task;
+        this.eventId = eventId;
+        this.taskId = taskId;
         this.type = type;
         this.payload = payload != null ? payload : "{}";
+        this.occurredAt = occurredAt;
     }
 }
@@ -0,0 +1,13 @@
+package com.taskapi.event;
+
+import java.util.List;
+
+/**
+ * Receives task events from the outbox relay, one ordered batch at a time. A batch is delivered inside
+ * the relay's transaction and is only removed from the outbox if every sink accepts it; a sink that
+ * throws gets the same batch again later, so delivery is at least once.
+ */
+public interface TaskEventSink {
+
+    void deliver(List<TaskDomainEvent> events);
+}
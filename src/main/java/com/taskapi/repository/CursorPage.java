@@ -0,0 +1,31 @@
+package com.taskapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) scan. Cursors are null when there is no page in that direction; the
+ * total is null when the caller did not ask for one.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final Long totalElements;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, size, totalElements, nextCursor, prevCursor);
+    }
+
+    public CursorPage<T> withTotalElements(Long total) {
+        return new CursorPage<>(content, size, total, nextCursor, prevCursor);
+    }
+}
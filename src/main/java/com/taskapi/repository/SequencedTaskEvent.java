@@ -0,0 +1,20 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** A row of {@code task_events} with its position in the change feed. */
+@Getter
+@AllArgsConstructor
+public class SequencedTaskEvent {
+
+    private final long seq;
+    private final UUID taskId;
+    private final TaskEventType type;
+    private final String payload;
+    private final Instant createdAt;
+}
@@ -0,0 +1,15 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A task as it is after a set-based status update, with the status it had before. */
+@Getter
+@AllArgsConstructor
+public class StatusTransition {
+
+    private final TaskResponse task;
+    private final TaskStatus previousStatus;
+}
@@ -0,0 +1,91 @@
+package com.taskapi.repository;
+
+import com.taskapi.dto.TaskResponse;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Loads fully built tasks with COPY instead of per-row INSERTs. Runs on the connection of the current
+ * transaction, so a chunk's tasks and tags commit or roll back together with its outbox entries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCopyRepository {
+
+    private static final String COPY_TASKS = "COPY tasks (id, title, description, status, priority, due_date, "
+        + "assignee, version, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_TAGS = "COPY task_tags (task_id, tag) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Copies the tasks (ids and timestamps already assigned) and their tags. */
+    public void copyIn(List<TaskResponse> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            try {
+                copy(pg, COPY_TASKS, out -> {
+                    for (TaskResponse task : tasks) {
+                        row(out, task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                            task.getPriority(), task.getDueDate(), task.getAssignee(), task.getVersion(),
+                            task.getCreatedAt(), task.getUpdatedAt());
+                    }
+                });
+                copy(pg, COPY_TAGS, out -> {
+                    for (TaskResponse task : tasks) {
+                        for (String tag : task.getTags()) {
+                            row(out, task.getId(), tag);
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private static void copy(PGConnection connection, String sql, RowsWriter rows) throws SQLException, IOException {
+        // Closing the stream ends the COPY and reports any rejected row as an SQLException cause
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql), StandardCharsets.UTF_8), 64 * 1024)) {
+            rows.write(out);
+        }
+    }
+
+    /** One CSV record; null is an unquoted empty field, anything else is quoted so "" stays an empty string. */
+    private static void row(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = values[i];
+            if (value != null) {
+                out.write('"');
+                out.write(value.toString().replace("\"", "\"\""));
+                out.write('"');
+            }
+        }
+        out.write('\n');
+    }
+
+    @FunctionalInterface
+    private interface RowsWriter {
+        void write(Writer out) throws IOException;
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskPriority;
+import com.taskapi.domain.TaskStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position for cursor pagination: the sort column value of a boundary row plus its id as tiebreaker.
+ * Clients only see the encoded form, an opaque URL-safe token.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TaskCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    /** Postgres' text output of timestamptz (DateStyle ISO), e.g. {@code 2024-05-01 09:30:00.123456+00}. */
+    private static final DateTimeFormatter PG_TIMESTAMPTZ = new DateTimeFormatterBuilder()
+        .appendPattern("uuuu-MM-dd HH:mm:ss")
+        .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true).optionalEnd()
+        .appendOffset("+HH:mm:ss", "+00")
+        .toFormatter();
+
+    private final String sortField;
+    private final boolean ascending;
+    /** True when the cursor points at the page before the boundary row (a "prev" cursor). */
+    private final boolean backward;
+    /** Sort column value as Postgres text, or null when the boundary row has a null sort value. */
+    private final String value;
+    private final UUID id;
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+            VERSION,
+            sortField,
+            ascending ? "asc" : "desc",
+            backward ? "b" : "f",
+            id.toString(),
+            value == null ? "n" : "s" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode}. The token comes back from the client, so besides its
+     * structure the sort field must be a sortable property and the value must parse as that column's type;
+     * anything else is rejected with {@link IllegalArgumentException} rather than reaching the query.
+     */
+    public static TaskCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        // Value goes last so it may itself contain the separator
+        String[] parts = raw.split("\\|", 6);
+        if (parts.length != 6 || !VERSION.equals(parts[0]) || parts[5].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String column = TaskQueryBuilder.SORT_COLUMNS.get(parts[1]);
+        if (column == null) {
+            throw new IllegalArgumentException("Malformed cursor: unknown sort field");
+        }
+        String value = parts[5].charAt(0) == 'n' ? null : parts[5].substring(1);
+        if (value != null) {
+            checkValue(column, value);
+        }
+        return new TaskCursor(parts[1], "asc".equals(parts[2]), "b".equals(parts[3]), value, UUID.fromString(parts[4]));
+    }
+
+    private static void checkValue(String column, String value) {
+        try {
+            if (TaskQueryBuilder.TIMESTAMP_SORT_COLUMNS.contains(column)) {
+                OffsetDateTime.parse(value, PG_TIMESTAMPTZ);
+            } else if ("t.id".equals(column)) {
+                UUID.fromString(value);
+            } else if ("t.status".equals(column)) {
+                TaskStatus.valueOf(value);
+            } else if ("t.priority".equals(column)) {
+                TaskPriority.valueOf(value);
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: bad sort value", e);
+        }
+    }
+}
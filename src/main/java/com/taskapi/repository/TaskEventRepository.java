@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.UUID;
 
-public interface TaskEventRepository extends JpaRepository<TaskEvent, UUID> {
+public interface TaskEventRepository extends JpaRepository<TaskEvent, UUID>, TaskEventRepositoryCustom {
 
     Page<TaskEvent> findByTaskIdOrderByCreatedAtDesc(UUID taskId, Pageable pageable);
 }
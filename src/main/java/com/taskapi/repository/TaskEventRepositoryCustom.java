@@ -0,0 +1,27 @@
+package com.taskapi.repository;
+
+import com.taskapi.event.TaskDomainEvent;
+
+import java.util.List;
+
+public interface TaskEventRepositoryCustom {
+
+    /**
+     * Writes relayed events in a single multi-row INSERT keyed by their event ids; events already
+     * written by an earlier delivery of the same batch are skipped.
+     */
+    void insertDelivered(List<TaskDomainEvent> events);
+
+    /**
+     * Takes the lock that orders {@code seq} values by commit (see {@code V6__add_task_event_seq.sql}).
+     * {@link #insertDelivered} takes it itself; any other writer of events takes it before inserting. It is
+     * held until commit, so insert events as the last statement of the transaction.
+     */
+    void lockSequence();
+
+    /** Up to {@code limit} events with a {@code seq} above {@code afterSeq}, in seq order. */
+    List<SequencedTaskEvent> findAfter(long afterSeq, int limit);
+
+    /** The highest {@code seq} written so far, 0 when there are no events. */
+    long maxSeq();
+}
@@ -0,0 +1,65 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskEventType;
+import com.taskapi.event.TaskDomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class TaskEventRepositoryImpl implements TaskEventRepositoryCustom {
+
+    /**
+     * Advisory lock taken before every insert and held until commit. Inserting transactions then draw
+     * their {@code seq} values and commit one after another, so the change feed never sees a seq before
+     * a lower one that is still in flight. Callers insert as the last step before committing, which keeps
+     * the serialized window to the insert and the commit.
+     */
+    private static final long SEQ_LOCK = 0x7461736b5f657674L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertDelivered(List<TaskDomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        lockSequence();
+        jdbcTemplate.update("INSERT INTO task_events (id, task_id, type, payload, created_at) "
+                + "SELECT e.id, e.task_id, e.type, CAST(e.payload AS jsonb), e.created_at "
+                + "FROM unnest(CAST(? AS uuid[]), CAST(? AS uuid[]), CAST(? AS text[]), CAST(? AS text[]), "
+                + "CAST(? AS timestamptz[])) AS e(id, task_id, type, payload, created_at) "
+                + "ON CONFLICT (id) DO NOTHING",
+            events.stream().map(e -> e.getEventId().toString()).toArray(String[]::new),
+            events.stream().map(e -> e.getTaskId().toString()).toArray(String[]::new),
+            events.stream().map(e -> e.getType().name()).toArray(String[]::new),
+            events.stream().map(TaskDomainEvent::getPayload).toArray(String[]::new),
+            events.stream().map(e -> e.getOccurredAt().toString()).toArray(String[]::new));
+    }
+
+    @Override
+    public List<SequencedTaskEvent> findAfter(long afterSeq, int limit) {
+        return jdbcTemplate.query("SELECT seq, task_id, type, payload::text, created_at FROM task_events "
+                + "WHERE seq > ? ORDER BY seq LIMIT ?",
+            (rs, rowNum) -> new SequencedTaskEvent(
+                rs.getLong(1),
+                rs.getObject(2, UUID.class),
+                TaskEventType.valueOf(rs.getString(3)),
+                rs.getString(4),
+                rs.getTimestamp(5).toInstant()),
+            afterSeq, limit);
+    }
+
+    @Override
+    public long maxSeq() {
+        Long max = jdbcTemplate.queryForObject("SELECT max(seq) FROM task_events", Long.class);
+        return max != null ? max : 0;
+    }
+
+    @Override
+    public void lockSequence() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + SEQ_LOCK + ")");
+    }
+}
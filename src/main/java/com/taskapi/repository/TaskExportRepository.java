@@ -0,0 +1,38 @@
+package com.taskapi.repository;
+
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Full-result reads for exports. Runs on the export pool with a bounded fetch size, so Postgres hands
+ * rows over in chunks through a cursor and only one chunk is ever held in memory.
+ */
+@Repository
+public class TaskExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskExportRepository(@Qualifier("exportDataSource") DataSource exportDataSource,
+                                @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /** Streams every task matching the filter to {@code action}, in sort order with id as tie-breaker. */
+    public void forEachWithFilters(TaskFilter filter, Sort sort, Consumer<TaskResponse> action) {
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        String sql = "SELECT " + TaskResponseRowMapper.COLUMNS + " FROM tasks t" + q.where()
+            + TaskQueryBuilder.orderBy(sort) + ", t.id";
+        jdbcTemplate.query(sql, rs -> {
+            action.accept(TaskResponseRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+        }, q.params());
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** A task event waiting in the outbox; {@code id} is its position in delivery order. */
+@Getter
+@AllArgsConstructor
+public class TaskOutboxEntry {
+
+    private final long id;
+    private final UUID eventId;
+    private final UUID taskId;
+    private final TaskEventType type;
+    private final String payload;
+    private final Instant createdAt;
+}
@@ -0,0 +1,61 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code task_outbox} table. Appends run on the connection of the caller's transaction, so an event
+ * exists exactly when the change it describes commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(UUID taskId, TaskEventType type, String payload) {
+        jdbcTemplate.update("INSERT INTO task_outbox (task_id, type, payload) VALUES (?, ?, CAST(? AS jsonb))",
+            taskId, type.name(), payload);
+    }
+
+    /** Appends one entry per task id in a single multi-row INSERT; payloads are JSON text, index-aligned. */
+    public void appendAll(TaskEventType type, List<UUID> taskIds, List<String> payloads) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO task_outbox (task_id, type, payload) "
+                + "SELECT e.task_id, ?, CAST(e.payload AS jsonb) "
+                + "FROM unnest(CAST(? AS uuid[]), CAST(? AS text[])) WITH ORDINALITY AS e(task_id, payload, n) "
+                + "ORDER BY e.n",
+            type.name(),
+            taskIds.stream().map(UUID::toString).toArray(String[]::new),
+            payloads.toArray(String[]::new));
+    }
+
+    /**
+     * Locks the oldest {@code limit} entries for the current transaction. Entries locked by another
+     * relay are skipped rather than waited for, so several nodes drain disjoint batches.
+     */
+    public List<TaskOutboxEntry> lockOldest(int limit) {
+        return jdbcTemplate.query("SELECT id, event_id, task_id, type, payload::text, created_at FROM task_outbox "
+                + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+            (rs, rowNum) -> new TaskOutboxEntry(
+                rs.getLong(1),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, UUID.class),
+                TaskEventType.valueOf(rs.getString(4)),
+                rs.getString(5),
+                rs.getTimestamp(6).toInstant()),
+            limit);
+    }
+
+    public void delete(List<TaskOutboxEntry> entries) {
+        jdbcTemplate.update("DELETE FROM task_outbox WHERE id = ANY(?)",
+            (Object) entries.stream().map(TaskOutboxEntry::getId).toArray(Long[]::new));
+    }
+}
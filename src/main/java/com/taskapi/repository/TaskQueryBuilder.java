@@ -0,0 +1,142 @@
+package com.taskapi.repository;
+
+import com.taskapi.dto.TaskFilter;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles a {@link TaskFilter} into a WHERE clause over {@code tasks t} with positional parameters.
+ * Only supplied criteria become predicates, so each filter combination gets its own statement text and
+ * Postgres can plan it against the matching index instead of a generic "(? IS NULL OR col = ?)" plan.
+ * Multi-valued criteria bind a single array parameter: {@code col = ANY(?)}.
+ */
+final class TaskQueryBuilder {
+
+    /** API sort property to column; unknown properties fall back to created_at. */
+    static final Map<String, String> SORT_COLUMNS = Map.of(
+        "id", "t.id",
+        "title", "t.title",
+        "status", "t.status",
+        "priority", "t.priority",
+        "dueDate", "t.due_date",
+        "assignee", "t.assignee",
+        "createdAt", "t.created_at",
+        "updatedAt", "t.updated_at"
+    );
+    /** Sort columns of type timestamptz; the others compare as text. */
+    static final Set<String> TIMESTAMP_SORT_COLUMNS = Set.of("t.due_date", "t.created_at", "t.updated_at");
+
+    private final List<String> predicates = new ArrayList<>();
+    private final List<Object> params = new ArrayList<>();
+
+    private TaskQueryBuilder() {
+    }
+
+    static TaskQueryBuilder forFilter(TaskFilter filter) {
+        TaskQueryBuilder q = new TaskQueryBuilder();
+        if (filter == null) {
+            return q;
+        }
+        q.anyOf("t.status", filter.getStatuses());
+        q.anyOf("t.priority", filter.getPriorities());
+        q.anyOf("t.assignee", filter.getAssignees());
+        q.tags(filter.getTags(), filter.getTagMatch());
+        if (filter.getDueBefore() != null) {
+            q.and("t.due_date <= ?", timestamp(filter.getDueBefore()));
+        }
+        if (filter.getDueAfter() != null) {
+            q.and("t.due_date >= ?", timestamp(filter.getDueAfter()));
+        }
+        if (filter.getTextSearch() != null && !filter.getTextSearch().isBlank()) {
+            q.and("t.search_vector @@ plainto_tsquery('english', ?)", filter.getTextSearch());
+        }
+        return q;
+    }
+
+    static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY t.created_at DESC";
+        }
+        String order = sort.stream()
+            .map(o -> {
+                String col = SORT_COLUMNS.getOrDefault(o.getProperty(), "t.created_at");
+                return col + " " + (o.isAscending() ? "ASC" : "DESC");
+            })
+            .collect(Collectors.joining(", "));
+        return " ORDER BY " + order;
+    }
+
+    TaskQueryBuilder and(String predicate, Object... values) {
+        predicates.add(predicate);
+        params.addAll(List.of(values));
+        return this;
+    }
+
+    /** Empty when no criteria were supplied, otherwise a clause starting with WHERE. */
+    String where() {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    Object[] params(Object... trailing) {
+        List<Object> all = new ArrayList<>(params);
+        all.addAll(List.of(trailing));
+        return all.toArray();
+    }
+
+    boolean isEmpty() {
+        return predicates.isEmpty();
+    }
+
+    /** pgjdbc cannot infer a SQL type for Instant; OffsetDateTime binds as timestamptz. */
+    static OffsetDateTime timestamp(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private void anyOf(String column, Collection<String> values) {
+        Set<String> distinct = distinct(values);
+        if (distinct.size() == 1) {
+            and(column + " = ?", distinct.iterator().next());
+        } else if (distinct.size() > 1) {
+            and(column + " = ANY(?)", (Object) distinct.toArray(String[]::new));
+        }
+    }
+
+    private void tags(Collection<String> values, TaskFilter.TagMatch match) {
+        Set<String> distinct = distinct(values);
+        if (distinct.isEmpty()) {
+            return;
+        }
+        if (distinct.size() == 1) {
+            and("EXISTS (SELECT 1 FROM task_tags tt WHERE tt.task_id = t.id AND tt.tag = ?)", distinct.iterator().next());
+        } else if (match == TaskFilter.TagMatch.ALL) {
+            // (task_id, tag) is the primary key, so the row count per task equals its number of matched tags
+            and("t.id IN (SELECT tt.task_id FROM task_tags tt WHERE tt.tag = ANY(?) GROUP BY tt.task_id HAVING COUNT(*) = ?)",
+                distinct.toArray(String[]::new), distinct.size());
+        } else {
+            and("EXISTS (SELECT 1 FROM task_tags tt WHERE tt.task_id = t.id AND tt.tag = ANY(?))",
+                (Object) distinct.toArray(String[]::new));
+        }
+    }
+
+    private static Set<String> distinct(Collection<String> values) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    distinct.add(value.trim());
+                }
+            }
+        }
+        return distinct;
+    }
+}
@@ -1,22 +1,78 @@
 package com.taskapi.repository;
 
-import com.taskapi.domain.Task;
-import org.springframework.data.domain.Page;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
-import java.time.Instant;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public interface TaskRepositoryCustom {
 
-    Page<Task> findAllWithFilters(
-        String status,
-        String priority,
-        String assignee,
-        String tag,
-        Instant dueBefore,
-        Instant dueAfter,
-        String textSearch,
-        Pageable pageable
+    /**
+     * One offset page, read in a single statement (tags aggregated per row) and mapped straight to
+     * responses without loading entities. Fetches a single extra row to report {@link Slice#hasNext()}, so no count query
+     * is needed; totals come from {@link #countWithFilters} or {@link #estimateCountWithFilters}.
+     */
+    Slice<TaskResponse> findSliceWithFilters(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findSliceWithFilters}: seeks past {@code cursor} on (sort column, id)
+     * instead of skipping rows with an offset. A null cursor returns the first page.
+     */
+    CursorPage<TaskResponse> findAllWithFiltersAfter(
+        TaskFilter filter,
+        String sortField,
+        boolean ascending,
+        TaskCursor cursor,
+        int size
     );
+
+    long countWithFilters(TaskFilter filter);
+
+    /** Planner estimate of {@link #countWithFilters}; cheap but can be off by a wide margin. */
+    long estimateCountWithFilters(TaskFilter filter);
+
+    /**
+     * Sets the status of the given tasks in one UPDATE. A non-null expected version only lets the row
+     * through when it still matches. Returns the updated rows; ids missing from the result were either
+     * absent or at another version (see {@link #findExistingIds}).
+     */
+    List<StatusTransition> updateStatusByIds(TaskStatus status, Map<UUID, Long> expectedVersions);
+
+    /** Sets the status of every task matching a non-empty filter in one UPDATE. */
+    List<StatusTransition> updateStatusByFilter(TaskStatus status, TaskFilter filter);
+
+    /** Deletes the given tasks in one DELETE, with the same version semantics as {@link #updateStatusByIds}. */
+    List<TaskResponse> deleteByIds(Map<UUID, Long> expectedVersions);
+
+    /** Deletes every task matching a non-empty filter in one DELETE. */
+    List<TaskResponse> deleteByFilter(TaskFilter filter);
+
+    /** The given tasks in one statement ({@code id = ANY(?)}), in no particular order; missing ids are skipped. */
+    List<TaskResponse> findAllByIds(Collection<UUID> ids);
+
+    List<UUID> findExistingIds(Collection<UUID> ids);
+
+    /** Those of the given tasks that match the filter, with the same predicates as the list queries. */
+    List<UUID> findMatchingIds(TaskFilter filter, Collection<UUID> ids);
+
+    /**
+     * Sets one task's status in a single statement, returning the row with its previous status. With a
+     * non-null {@code expectedVersion} the write only applies at that version.
+     */
+    UpdateResult<StatusTransition> updateStatus(UUID id, TaskStatus status, Long expectedVersion);
+
+    /**
+     * Writes the given columns (database names, see {@code UPDATABLE_COLUMNS}) of one task in a single
+     * statement and bumps its version. A non-null {@code tags} list replaces the task's tags by diff:
+     * only removed tags are deleted and only new ones inserted. The result also carries the previous
+     * values of the written columns and the previous tags.
+     */
+    UpdateResult<TaskUpdate> updateColumns(UUID id, Map<String, Object> columns, List<String> tags,
+                                           Long expectedVersion);
 }
@@ -1,120 +1,405 @@
 package com.taskapi.repository;
 
-import com.taskapi.domain.Task;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskResponse;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.Query;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+@RequiredArgsConstructor
 public class TaskRepositoryImpl implements TaskRepositoryCustom {
 
-    private static final Map<String, String> SORT_COLUMN_MAP = Map.of(
-        "id", "t.id",
-        "title", "t.title",
-        "status", "t.status",
-        "priority", "t.priority",
-        "dueDate", "t.due_date",
-        "assignee", "t.assignee",
-        "createdAt", "t.created_at",
-        "updatedAt", "t.updated_at"
-    );
+    // Keyset support: columns that may hold NULL
+    private static final Set<String> NULLABLE_SORT_COLUMNS = Set.of("t.due_date", "t.assignee");
 
+    /** Columns {@link #updateColumns} may write; everything else is managed by the statement itself. */
+    private static final Set<String> UPDATABLE_COLUMNS =
+        Set.of("title", "description", "status", "priority", "due_date", "assignee");
+    private static final Set<String> TIMESTAMP_COLUMNS = Set.of("due_date");
+
+    // Bulk targets: parallel id / expected-version arrays, a null version meaning "any version"
+    private static final String IDS_WITH_VERSIONS =
+        "(SELECT * FROM unnest(CAST(? AS uuid[]), CAST(? AS bigint[])) AS u(id, version))";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    // Only used to flush pending writes and to drop entities made stale by set-based updates;
+    // list reads map rows straight to DTOs
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final JdbcTemplate jdbcTemplate;
+
     @Override
-    public Page<Task> findAllWithFilters(
-        String status,
-        String priority,
-        String assignee,
-        String tag,
-        Instant dueBefore,
-        Instant dueAfter,
-        String textSearch,
-        Pageable pageable
+    public Slice<TaskResponse> findSliceWithFilters(TaskFilter filter, Pageable pageable) {
+        flushPendingWrites();
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        String sql = "SELECT " + TaskResponseRowMapper.COLUMNS + " FROM tasks t" + q.where()
+            + TaskQueryBuilder.orderBy(pageable.getSort()) + " LIMIT ? OFFSET ?";
+        List<TaskResponse> rows = jdbcTemplate.query(sql, TaskResponseRowMapper.INSTANCE,
+            q.params(pageable.getPageSize() + 1, pageable.getOffset()));
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    @Override
+    public CursorPage<TaskResponse> findAllWithFiltersAfter(
+        TaskFilter filter,
+        String sortField,
+        boolean ascending,
+        TaskCursor cursor,
+        int size
     ) {
-        StringBuilder sql = new StringBuilder("""
-            SELECT t.id FROM tasks t
-            LEFT JOIN task_tags tt ON t.id = tt.task_id
-            WHERE (:status IS NULL OR t.status = CAST(:status AS text))
-            AND (:priority IS NULL OR t.priority = CAST(:priority AS text))
-            AND (:assignee IS NULL OR t.assignee = :assignee)
-            AND (:tag IS NULL OR EXISTS (SELECT 1 FROM task_tags tt2 WHERE tt2.task_id = t.id AND tt2.tag = :tag))
-            AND (:dueBefore IS NULL OR t.due_date <= :dueBefore)
-            AND (:dueAfter IS NULL OR t.due_date >= :dueAfter)
-            AND (:textSearch IS NULL OR :textSearch = '' OR t.search_vector @@ plainto_tsquery('english', :textSearch))
-            """);
-        sql.append(orderByClause(pageable.getSort()));
-        Query query = entityManager.createNativeQuery(sql.toString());
-        setParams(query, status, priority, assignee, tag, dueBefore, dueAfter, textSearch);
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
-        @SuppressWarnings("unchecked")
-        List<Object> rows = query.getResultList();
-        List<UUID> ids = rows.stream()
-            .map(row -> row instanceof UUID ? (UUID) row : UUID.fromString(row.toString()))
-            .toList();
-
-        String countSql = """
-            SELECT COUNT(DISTINCT t.id) FROM tasks t
-            LEFT JOIN task_tags tt ON t.id = tt.task_id
-            WHERE (:status IS NULL OR t.status = CAST(:status AS text))
-            AND (:priority IS NULL OR t.priority = CAST(:priority AS text))
-            AND (:assignee IS NULL OR t.assignee = :assignee)
-            AND (:tag IS NULL OR EXISTS (SELECT 1 FROM task_tags tt2 WHERE tt2.task_id = t.id AND tt2.tag = :tag))
-            AND (:dueBefore IS NULL OR t.due_date <= :dueBefore)
-            AND (:dueAfter IS NULL OR t.due_date >= :dueAfter)
-            AND (:textSearch IS NULL OR :textSearch = '' OR t.search_vector @@ plainto_tsquery('english', :textSearch))
-            """;
-        Query countQuery = entityManager.createNativeQuery(countSql);
-        setParams(countQuery, status, priority, assignee, tag, dueBefore, dueAfter, textSearch);
-        long total = ((Number) countQuery.getSingleResult()).longValue();
+        String property = TaskQueryBuilder.SORT_COLUMNS.containsKey(sortField) ? sortField : "createdAt";
+        String column = TaskQueryBuilder.SORT_COLUMNS.get(property);
+        boolean forward = cursor == null || !cursor.isBackward();
+        // A "prev" cursor scans the index in the opposite direction, then the page is flipped back
+        boolean scanAscending = forward == ascending;
+        String direction = scanAscending ? "ASC" : "DESC";
+
+        flushPendingWrites();
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        if (cursor != null) {
+            boolean idOnly = cursor.getValue() == null || "t.id".equals(column);
+            Object[] seekParams = idOnly
+                ? new Object[] { cursor.getId() }
+                : new Object[] { cursor.getValue(), cursor.getId() };
+            q.and(seekPredicate(column, scanAscending, cursor.getValue() == null), seekParams);
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(TaskResponseRowMapper.COLUMNS)
+            .append(", CAST(").append(column).append(" AS text) AS sort_key FROM tasks t")
+            .append(q.where())
+            .append(" ORDER BY ").append(column).append(' ').append(direction);
+        if (!"t.id".equals(column)) {
+            sql.append(", t.id ").append(direction);
+        }
+        // One extra row tells us whether another page exists in the scan direction
+        sql.append(" LIMIT ?");
+        List<Object[]> rows = new ArrayList<>(jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new Object[] { TaskResponseRowMapper.INSTANCE.mapRow(rs, rowNum), rs.getString("sort_key") },
+            q.params(size + 1)));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        if (!forward) {
+            Collections.reverse(rows);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!rows.isEmpty()) {
+            Object[] first = rows.get(0);
+            Object[] last = rows.get(rows.size() - 1);
+            if (!forward || hasMore) {
+                nextCursor = cursorAt(property, ascending, false, last).encode();
+            }
+            if (forward ? cursor != null : hasMore) {
+                prevCursor = cursorAt(property, ascending, true, first).encode();
+            }
+        } else if (cursor != null) {
+            // Ran off the end: let the client turn around from the position it asked for
+            TaskCursor turnaround = new TaskCursor(property, ascending, forward, cursor.getValue(), cursor.getId());
+            if (forward) {
+                prevCursor = turnaround.encode();
+            } else {
+                nextCursor = turnaround.encode();
+            }
+        }
+
+        List<TaskResponse> content = rows.stream().map(row -> (TaskResponse) row[0]).toList();
+        return new CursorPage<>(content, size, null, nextCursor, prevCursor);
+    }
+
+    /**
+     * JdbcTemplate bypasses Hibernate's auto-flush, so entities written earlier in the same
+     * read-write transaction would be invisible to these queries without an explicit flush.
+     */
+    private void flushPendingWrites() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            entityManager.flush();
+        }
+    }
+
+    @Override
+    public long countWithFilters(TaskFilter filter) {
+        flushPendingWrites();
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks t" + q.where(), Long.class, q.params());
+        return total != null ? total : 0L;
+    }
+
+    @Override
+    public long estimateCountWithFilters(TaskFilter filter) {
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        if (q.isEmpty()) {
+            // Maintained by ANALYZE/autovacuum; -1 until the table has been analyzed once
+            Long reltuples = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'tasks'::regclass", Long.class);
+            if (reltuples != null && reltuples >= 0) {
+                return reltuples;
+            }
+        }
+        String plan = jdbcTemplate.queryForObject(
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM tasks t" + q.where(), String.class, q.params());
+        // The first "Plan Rows" belongs to the top plan node
+        Matcher rows = PLAN_ROWS.matcher(plan != null ? plan : "");
+        return rows.find() ? Long.parseLong(rows.group(1)) : 0L;
+    }
+
+    @Override
+    public List<StatusTransition> updateStatusByIds(TaskStatus status, Map<UUID, Long> expectedVersions) {
+        if (expectedVersions.isEmpty()) {
+            return List.of();
+        }
+        flushPendingWrites();
+        return updateStatus(status, IDS_WITH_VERSIONS, idArray(expectedVersions), versionArray(expectedVersions));
+    }
+
+    @Override
+    public List<StatusTransition> updateStatusByFilter(TaskStatus status, TaskFilter filter) {
+        TaskQueryBuilder q = nonEmpty(filter);
+        flushPendingWrites();
+        return updateStatus(status, "(SELECT t.id, NULL::bigint AS version FROM tasks t" + q.where() + ")", q.params());
+    }
+
+    @Override
+    public List<TaskResponse> deleteByIds(Map<UUID, Long> expectedVersions) {
+        if (expectedVersions.isEmpty()) {
+            return List.of();
+        }
+        flushPendingWrites();
+        return delete(IDS_WITH_VERSIONS, idArray(expectedVersions), versionArray(expectedVersions));
+    }
+
+    @Override
+    public List<TaskResponse> deleteByFilter(TaskFilter filter) {
+        TaskQueryBuilder q = nonEmpty(filter);
+        flushPendingWrites();
+        return delete("(SELECT t.id, NULL::bigint AS version FROM tasks t" + q.where() + ")", q.params());
+    }
+
+    @Override
+    public List<TaskResponse> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        flushPendingWrites();
+        return jdbcTemplate.query("SELECT " + TaskResponseRowMapper.COLUMNS + " FROM tasks t WHERE t.id = ANY(CAST(? AS uuid[]))",
+            TaskResponseRowMapper.INSTANCE, (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
 
+    @Override
+    public List<UUID> findExistingIds(Collection<UUID> ids) {
         if (ids.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, total);
-        }
-        List<Task> tasks = entityManager.createQuery(
-                "SELECT t FROM Task t LEFT JOIN FETCH t.tags WHERE t.id IN :ids", Task.class)
-            .setParameter("ids", ids)
-            .getResultList();
-        // Preserve order of ids
-        List<Task> ordered = ids.stream()
-            .map(id -> tasks.stream().filter(t -> t.getId().equals(id)).findFirst().orElse(null))
-            .filter(t -> t != null)
-            .collect(Collectors.toList());
-        return new PageImpl<>(ordered, pageable, total);
-    }
-
-    private String orderByClause(Sort sort) {
-        if (sort.isUnsorted()) {
-            return " ORDER BY t.created_at DESC";
-        }
-        String order = sort.stream()
-            .map(o -> {
-                String col = SORT_COLUMN_MAP.getOrDefault(o.getProperty(), "t.created_at");
-                return col + " " + (o.isAscending() ? "ASC" : "DESC");
-            })
-            .collect(Collectors.joining(", "));
-        return " ORDER BY " + order;
-    }
-
-    private void setParams(Query q, String status, String priority, String assignee, String tag,
-                          Instant dueBefore, Instant dueAfter, String textSearch) {
-        q.setParameter("status", status);
-        q.setParameter("priority", priority);
-        q.setParameter("assignee", assignee);
-        q.setParameter("tag", tag);
-        q.setParameter("dueBefore", dueBefore);
-        q.setParameter("dueAfter", dueAfter);
-        q.setParameter("textSearch", textSearch == null || textSearch.isBlank() ? null : textSearch);
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM tasks WHERE id = ANY(CAST(? AS uuid[]))", UUID.class,
+            (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
+
+    @Override
+    public List<UUID> findMatchingIds(TaskFilter filter, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter)
+            .and("t.id = ANY(CAST(? AS uuid[]))", (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+        return jdbcTemplate.queryForList("SELECT t.id FROM tasks t" + q.where(), UUID.class, q.params());
+    }
+
+    @Override
+    public UpdateResult<StatusTransition> updateStatus(UUID id, TaskStatus status, Long expectedVersion) {
+        flushPendingWrites();
+        // cur locks the row and keeps its old status; found tells "no such task" from "other version"
+        String sql = "WITH cur AS (SELECT id, status FROM tasks WHERE id = ? FOR UPDATE), "
+            + "upd AS (UPDATE tasks SET status = ?, version = tasks.version + 1, updated_at = now() FROM cur "
+            + "WHERE tasks.id = cur.id" + (expectedVersion != null ? " AND tasks.version = ?" : "")
+            + " RETURNING tasks.*, cur.status AS previous_status) "
+            + "SELECT c.found, " + TaskResponseRowMapper.COLUMNS + ", t.previous_status "
+            + "FROM (SELECT count(*) AS found FROM cur) c LEFT JOIN upd t ON true";
+        List<Object> params = new ArrayList<>(List.of(id, status.name()));
+        if (expectedVersion != null) {
+            params.add(expectedVersion);
+        }
+        return conditionalWrite(sql, params, (rs, rowNum) -> new StatusTransition(
+            TaskResponseRowMapper.INSTANCE.mapRow(rs, rowNum),
+            TaskStatus.valueOf(rs.getString("previous_status"))));
+    }
+
+    @Override
+    public UpdateResult<TaskUpdate> updateColumns(UUID id, Map<String, Object> columns, List<String> tags,
+                                                  Long expectedVersion) {
+        flushPendingWrites();
+        List<Object> params = new ArrayList<>();
+        params.add(id);
+        StringBuilder sql = new StringBuilder("WITH cur AS (SELECT * FROM tasks WHERE id = ? FOR UPDATE), ")
+            .append("upd AS (UPDATE tasks SET ");
+        StringBuilder previous = new StringBuilder();
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            if (!UPDATABLE_COLUMNS.contains(column.getKey())) {
+                throw new IllegalArgumentException("Not an updatable column: " + column.getKey());
+            }
+            sql.append(column.getKey()).append(" = ?, ");
+            previous.append(", o.").append(column.getKey()).append(" AS old_").append(column.getKey());
+            params.add(column.getValue() instanceof Instant instant ? TaskQueryBuilder.timestamp(instant)
+                : column.getValue() instanceof Enum<?> value ? value.name() : column.getValue());
+        }
+        sql.append("version = tasks.version + 1, updated_at = now() FROM cur WHERE tasks.id = cur.id");
+        if (expectedVersion != null) {
+            sql.append(" AND tasks.version = ?");
+            params.add(expectedVersion);
+        }
+        sql.append(" RETURNING tasks.*)");
+        if (tags != null) {
+            // Both CTEs see the pre-statement snapshot: delete what was dropped, insert what is new
+            String[] tagArray = tags.toArray(String[]::new);
+            sql.append(", del AS (DELETE FROM task_tags WHERE task_id IN (SELECT id FROM upd) ")
+                .append("AND tag <> ALL(CAST(? AS text[]))), ")
+                .append("ins AS (INSERT INTO task_tags (task_id, tag) SELECT upd.id, x.tag ")
+                .append("FROM upd, unnest(CAST(? AS text[])) AS x(tag) ")
+                .append("WHERE NOT EXISTS (SELECT 1 FROM task_tags e WHERE e.task_id = upd.id AND e.tag = x.tag) ")
+                .append("ON CONFLICT DO NOTHING)");
+            params.add(tagArray);
+            params.add(tagArray);
+        }
+        sql.append(" SELECT c.found, ").append(TaskResponseRowMapper.COLUMNS).append(previous)
+            .append(" FROM (SELECT count(*) AS found FROM cur) c LEFT JOIN upd t ON true LEFT JOIN cur o ON true");
+        return conditionalWrite(sql.toString(), params, (rs, rowNum) -> {
+            TaskResponse task = TaskResponseRowMapper.INSTANCE.mapRow(rs, rowNum);
+            // The outer SELECT's snapshot predates the tag CTEs, so the mapped tags are the old ones
+            List<String> previousTags = task.getTags();
+            if (tags != null) {
+                task.setTags(new ArrayList<>(tags));
+            }
+            Map<String, Object> previousValues = new LinkedHashMap<>();
+            for (String column : columns.keySet()) {
+                Object old = TIMESTAMP_COLUMNS.contains(column)
+                    ? rs.getObject("old_" + column, OffsetDateTime.class)
+                    : rs.getString("old_" + column);
+                previousValues.put(column, old instanceof OffsetDateTime timestamp ? timestamp.toInstant() : old);
+            }
+            return new TaskUpdate(task, previousValues, previousTags);
+        });
+    }
+
+    private <T> UpdateResult<T> conditionalWrite(String sql, List<Object> params, RowMapper<T> rowMapper) {
+        UpdateResult<T> result = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            if (rs.getLong("found") == 0) {
+                return UpdateResult.<T>notFound();
+            }
+            return rs.getObject("id") == null
+                ? UpdateResult.<T>conflict()
+                : UpdateResult.applied(rowMapper.mapRow(rs, rowNum));
+        }, params.toArray());
+        if (result.getOutcome() == UpdateResult.Outcome.APPLIED) {
+            // Any managed copy of this task is now stale
+            entityManager.clear();
+        }
+        return result;
+    }
+
+    /**
+     * One UPDATE over the target set. {@code cur} first locks the targets in id order and reads their
+     * status; under READ COMMITTED a locked row is re-read at its latest version, so the status handed to
+     * RETURNING is the one this update replaces, even after a concurrent change. The outer SELECT maps the
+     * returned rows like a list read, tags included.
+     */
+    private List<StatusTransition> updateStatus(TaskStatus status, String targets, Object... targetParams) {
+        String sql = "WITH cur AS (SELECT c.id, c.status, v.version FROM tasks c JOIN " + targets + " AS v ON c.id = v.id "
+            + "ORDER BY c.id FOR UPDATE OF c), "
+            + "upd AS (UPDATE tasks SET status = ?, version = tasks.version + 1, updated_at = now() FROM cur "
+            + "WHERE tasks.id = cur.id AND (cur.version IS NULL OR tasks.version = cur.version) "
+            + "RETURNING tasks.*, cur.status AS previous_status) "
+            + "SELECT " + TaskResponseRowMapper.COLUMNS + ", t.previous_status FROM upd t";
+        Object[] params = Arrays.copyOf(targetParams, targetParams.length + 1);
+        params[targetParams.length] = status.name();
+        List<StatusTransition> changed = jdbcTemplate.query(sql, (rs, rowNum) -> new StatusTransition(
+            TaskResponseRowMapper.INSTANCE.mapRow(rs, rowNum),
+            TaskStatus.valueOf(rs.getString("previous_status"))), params);
+        entityManager.clear();
+        return changed;
+    }
+
+    private List<TaskResponse> delete(String targets, Object... targetParams) {
+        // task_tags rows go with ON DELETE CASCADE; the outer SELECT still sees them in its snapshot
+        String sql = "WITH upd AS (DELETE FROM tasks USING " + targets + " AS v "
+            + "WHERE tasks.id = v.id AND (v.version IS NULL OR tasks.version = v.version) RETURNING tasks.*) "
+            + "SELECT " + TaskResponseRowMapper.COLUMNS + " FROM upd t";
+        List<TaskResponse> deleted = jdbcTemplate.query(sql, TaskResponseRowMapper.INSTANCE, targetParams);
+        entityManager.clear();
+        return deleted;
+    }
+
+    private static TaskQueryBuilder nonEmpty(TaskFilter filter) {
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        if (q.isEmpty()) {
+            throw new IllegalArgumentException("filter must contain at least one criterion");
+        }
+        return q;
+    }
+
+    private static String[] idArray(Map<UUID, Long> expectedVersions) {
+        return expectedVersions.keySet().stream().map(UUID::toString).toArray(String[]::new);
+    }
+
+    private static Long[] versionArray(Map<UUID, Long> expectedVersions) {
+        return expectedVersions.values().toArray(Long[]::new);
+    }
+
+    /**
+     * Row-value comparison against the cursor, matching Postgres' default null ordering
+     * (NULLS LAST for ASC, NULLS FIRST for DESC) on nullable columns.
+     */
+    private String seekPredicate(String column, boolean scanAscending, boolean nullValue) {
+        String op = scanAscending ? ">" : "<";
+        String id = "?";
+        if ("t.id".equals(column)) {
+            return "t.id " + op + " " + id;
+        }
+        String value = "CAST(? AS " + (TaskQueryBuilder.TIMESTAMP_SORT_COLUMNS.contains(column) ? "timestamptz" : "text") + ")";
+        String seek = "(" + column + ", t.id) " + op + " (" + value + ", " + id + ")";
+        if (!NULLABLE_SORT_COLUMNS.contains(column)) {
+            return seek;
+        }
+        if (scanAscending) {
+            return nullValue
+                ? "(" + column + " IS NULL AND t.id > " + id + ")"
+                : "(" + seek + " OR " + column + " IS NULL)";
+        }
+        return nullValue
+            ? "((" + column + " IS NULL AND t.id < " + id + ") OR " + column + " IS NOT NULL)"
+            : seek;
+    }
+
+    private static TaskCursor cursorAt(String property, boolean ascending, boolean backward, Object[] row) {
+        UUID id = ((TaskResponse) row[0]).getId();
+        String value = "id".equals(property) ? id.toString() : (row[1] == null ? null : row[1].toString());
+        return new TaskCursor(property, ascending, backward, value, id);
     }
 }
@@ -0,0 +1,66 @@
+package com.taskapi.repository;
+
+import com.taskapi.domain.TaskPriority;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskResponse;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maps a row selected with {@link #COLUMNS} straight to a {@link TaskResponse}, so list reads never
+ * hydrate managed {@code Task} entities.
+ */
+final class TaskResponseRowMapper implements RowMapper<TaskResponse> {
+
+    static final TaskResponseRowMapper INSTANCE = new TaskResponseRowMapper();
+
+    /** Task columns plus its tags folded into one array per row (empty array when untagged). */
+    static final String COLUMNS = "t.id, t.title, t.description, t.status, t.priority, t.due_date, t.assignee, "
+        + "t.version, t.created_at, t.updated_at, "
+        + "COALESCE((SELECT array_agg(tt.tag) FROM task_tags tt WHERE tt.task_id = t.id), '{}') AS tags";
+
+    private TaskResponseRowMapper() {
+    }
+
+    @Override
+    public TaskResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return TaskResponse.builder()
+            .id(rs.getObject("id", UUID.class))
+            .title(rs.getString("title"))
+            .description(rs.getString("description"))
+            .status(TaskStatus.valueOf(rs.getString("status")))
+            .priority(TaskPriority.valueOf(rs.getString("priority")))
+            .dueDate(instant(rs, "due_date"))
+            .assignee(rs.getString("assignee"))
+            .tags(tags(rs.getArray("tags")))
+            .version(rs.getLong("version"))
+            .createdAt(instant(rs, "created_at"))
+            .updatedAt(instant(rs, "updated_at"))
+            .build();
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value != null ? value.toInstant() : null;
+    }
+
+    private static List<String> tags(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+        } finally {
+            array.free();
+        }
+    }
+}
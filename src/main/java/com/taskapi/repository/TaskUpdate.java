@@ -0,0 +1,22 @@
+package com.taskapi.repository;
+
+import com.taskapi.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A task after a column update, plus what the written columns and the tags held before it. Lets
+ * callers describe the change without reading the task first.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskUpdate {
+
+    private final TaskResponse task;
+    /** Previous value per written column (database column name); timestamps as Instant, others as String. */
+    private final Map<String, Object> previousValues;
+    private final List<String> previousTags;
+}
@@ -0,0 +1,31 @@
+package com.taskapi.repository;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a conditional single-row write. The statement itself tells a missing row apart from a
+ * version mismatch, so callers can answer 404 or 409 without reading the row first.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class UpdateResult<T> {
+
+    public enum Outcome { APPLIED, NOT_FOUND, VERSION_CONFLICT }
+
+    private final Outcome outcome;
+    private final T value;
+
+    public static <T> UpdateResult<T> applied(T value) {
+        return new UpdateResult<>(Outcome.APPLIED, value);
+    }
+
+    public static <T> UpdateResult<T> notFound() {
+        return new UpdateResult<>(Outcome.NOT_FOUND, null);
+    }
+
+    public static <T> UpdateResult<T> conflict() {
+        return new UpdateResult<>(Outcome.VERSION_CONFLICT, null);
+    }
+}
@@ -0,0 +1,264 @@
+package com.taskapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskapi.event.CacheInvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Propagates cache invalidations between nodes over Postgres LISTEN/NOTIFY, so no broker is needed.
+ * <p>
+ * Sending: everything a transaction invalidates is coalesced into one {@code pg_notify} issued just
+ * before commit on the transaction's own connection. Postgres only delivers it if the transaction
+ * commits, and delivers it after the data is visible.
+ * <p>
+ * Receiving: each node keeps one dedicated connection (outside the Hikari pool) listening on the
+ * channel. Notifications arriving within {@code batch-window} are merged and applied as a single
+ * {@link CacheInvalidationEvent}. Whenever the listen connection is (re-)established the node flushes
+ * its caches, since notifications sent while it was disconnected are lost.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    /** Postgres rejects NOTIFY payloads of 8000 bytes or more; larger batches become a full flush. */
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_MILLIS = 1000;
+    private static final int POLLS_BETWEEN_CHECKS = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration batchWindow;
+    private final Duration reconnectDelay;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${app.cache.invalidation.channel:task_cache_invalidation}") String channel,
+                                @Value("${app.cache.invalidation.batch-window:50ms}") Duration batchWindow,
+                                @Value("${app.cache.invalidation.reconnect-delay:1s}") Duration reconnectDelay) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.batchWindow = batchWindow;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Tells other nodes that these tasks changed. Inside a transaction the call only adds to the batch
+     * sent at commit; outside one it is sent immediately.
+     */
+    public void publish(Collection<UUID> taskIds, Collection<String> statuses, Collection<String> assignees,
+                        Collection<String> tags) {
+        if (!enabled) {
+            return;
+        }
+        CacheInvalidationMessage message = new CacheInvalidationMessage(nodeId);
+        message.getTaskIds().addAll(taskIds);
+        message.getStatuses().addAll(statuses);
+        message.getAssignees().addAll(assignees);
+        message.getTags().addAll(tags);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(message);
+            return;
+        }
+        CacheInvalidationMessage pending = (CacheInvalidationMessage) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            pending.merge(message);
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, message);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                send((CacheInvalidationMessage) TransactionSynchronizationManager.getResource(CacheInvalidationBus.this));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+            }
+        });
+    }
+
+    private void send(CacheInvalidationMessage message) {
+        String payload = toJson(message);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            CacheInvalidationMessage flush = new CacheInvalidationMessage(nodeId);
+            flush.setFlush(true);
+            payload = toJson(flush);
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    private String toJson(CacheInvalidationMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cache invalidation", e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything committed while we were not listening was missed: start from empty caches
+                eventPublisher.publishEvent(CacheInvalidationEvent.flushAll(this));
+                listening = true;
+                log.info("Listening for cache invalidations on channel {}", channel);
+                receive(connection, connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                listening = false;
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {}", reconnectDelay, e);
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection, PGConnection pg) throws SQLException {
+        int idlePolls = 0;
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+            if (notifications == null || notifications.length == 0) {
+                // A silently dropped connection never errors while we only wait for notifications
+                if (++idlePolls >= POLLS_BETWEEN_CHECKS) {
+                    idlePolls = 0;
+                    if (!connection.isValid(5)) {
+                        throw new SQLException("Listen connection is no longer valid");
+                    }
+                }
+                continue;
+            }
+            idlePolls = 0;
+            CacheInvalidationMessage batch = new CacheInvalidationMessage(nodeId);
+            boolean remote = add(batch, notifications);
+            long deadline = System.nanoTime() + batchWindow.toNanos();
+            long remainingMillis;
+            while (running && (remainingMillis = (deadline - System.nanoTime()) / 1_000_000) > 0) {
+                remote |= add(batch, pg.getNotifications((int) remainingMillis));
+            }
+            if (remote) {
+                apply(batch);
+            }
+        }
+    }
+
+    /** Merges other nodes' notifications into the batch; returns whether there were any. */
+    private boolean add(CacheInvalidationMessage batch, PGNotification[] notifications) {
+        boolean added = false;
+        if (notifications == null) {
+            return false;
+        }
+        for (PGNotification notification : notifications) {
+            try {
+                CacheInvalidationMessage message =
+                    objectMapper.readValue(notification.getParameter(), CacheInvalidationMessage.class);
+                if (!nodeId.equals(message.getNode())) {
+                    batch.merge(message);
+                    added = true;
+                }
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring malformed cache invalidation: {}", notification.getParameter());
+            }
+        }
+        return added;
+    }
+
+    private void apply(CacheInvalidationMessage batch) {
+        log.debug("Applying remote cache invalidation: flush={}, tasks={}", batch.isFlush(), batch.getTaskIds().size());
+        eventPublisher.publishEvent(batch.isFlush()
+            ? CacheInvalidationEvent.flushAll(this)
+            : new CacheInvalidationEvent(this, batch.getTaskIds(), batch.getStatuses(), batch.getAssignees(),
+                batch.getTags()));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listening = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(POLL_MILLIS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        listener = null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Whether the listen connection is up, i.e. notifications from other nodes are being received. */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskapi.service;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/** NOTIFY payload of {@link CacheInvalidationBus}: what one transaction (or a coalesced batch) changed. */
+@Data
+@NoArgsConstructor
+class CacheInvalidationMessage {
+
+    /** Sending node, so a node skips its own notifications (it invalidated locally already). */
+    private String node;
+    /** Set when the batch was too large for one notification: receivers flush everything. */
+    private boolean flush;
+    private Set<UUID> taskIds = new LinkedHashSet<>();
+    private Set<String> statuses = new LinkedHashSet<>();
+    private Set<String> assignees = new LinkedHashSet<>();
+    private Set<String> tags = new LinkedHashSet<>();
+
+    CacheInvalidationMessage(String node) {
+        this.node = node;
+    }
+
+    void merge(CacheInvalidationMessage other) {
+        flush |= other.flush;
+        taskIds.addAll(other.taskIds);
+        statuses.addAll(other.statuses);
+        assignees.addAll(other.assignees);
+        tags.addAll(other.tags);
+    }
+}
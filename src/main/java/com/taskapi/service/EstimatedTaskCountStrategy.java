@@ -0,0 +1,25 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Planner row estimate: pg_class.reltuples when unfiltered, EXPLAIN otherwise. No table scan. */
+@Component
+@RequiredArgsConstructor
+public class EstimatedTaskCountStrategy implements TaskCountStrategy {
+
+    private final TaskRepository taskRepository;
+
+    @Override
+    public CountMode mode() {
+        return CountMode.ESTIMATE;
+    }
+
+    @Override
+    public Long count(TaskFilter filter) {
+        return taskRepository.estimateCountWithFilters(filter);
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs COUNT(*) for the filter. Results are cached per filter in {@link TaskListCache} since hot
+ * filter combinations are counted on every page request; writes mark the affected counts stale.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExactTaskCountStrategy implements TaskCountStrategy {
+
+    static final String TASK_COUNT_CACHE = "taskCount";
+
+    private final TaskRepository taskRepository;
+    private final TaskListCache listCache;
+
+    @Override
+    public CountMode mode() {
+        return CountMode.EXACT;
+    }
+
+    @Override
+    public Long count(TaskFilter filter) {
+        return listCache.count(filter, () -> taskRepository.countWithFilters(filter));
+    }
+}
@@ -0,0 +1,20 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
+import org.springframework.stereotype.Component;
+
+/** Skips the total entirely; the list still knows whether a next page exists from its size+1 probe. */
+@Component
+public class NoTaskCountStrategy implements TaskCountStrategy {
+
+    @Override
+    public CountMode mode() {
+        return CountMode.NONE;
+    }
+
+    @Override
+    public Long count(TaskFilter filter) {
+        return null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.taskapi.service;
+
+import com.taskapi.cache.LoadingTaskCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries the hot part of the {@code tasks} cache across restarts. On shutdown the ids of the hottest
+ * L1 entries are written to a snapshot file (a format byte, a count, then two longs per id, hottest
+ * first). On startup they are reloaded in the background in batches, each one {@code id = ANY(?)}
+ * query through {@link LoadingTaskCache#getTasks}, so concurrent requests for the same ids share the
+ * loads.
+ * <p>
+ * Only ids are stored: tasks may change while the node is down, so values must be read again anyway,
+ * and one batched query costs the same whether it validates values or loads them. Until warm-up
+ * finishes this indicator reports {@code OUT_OF_SERVICE}, which keeps {@code /actuator/health} from
+ * reporting the node ready.
+ */
+@Component
+@Slf4j
+public class TaskCacheWarmer implements SmartLifecycle, HealthIndicator {
+
+    private static final byte FORMAT = 1;
+    private static final Duration LISTENER_WAIT = Duration.ofSeconds(30);
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final Path path;
+    private final int maxEntries;
+    private final int batchSize;
+
+    private volatile boolean running;
+    private volatile boolean warming;
+    private volatile int snapshotSize;
+    private volatile long restored;
+    private volatile long warmupMillis;
+    private Thread loader;
+
+    public TaskCacheWarmer(CacheManager cacheManager,
+                           CacheInvalidationBus invalidationBus,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.cache.snapshot.enabled:false}") boolean enabled,
+                           @Value("${app.cache.snapshot.path:cache/tasks.snapshot}") Path path,
+                           @Value("${app.cache.snapshot.max-entries:1000}") int maxEntries,
+                           @Value("${app.cache.snapshot.batch-size:500}") int batchSize) {
+        this.cacheManager = cacheManager;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.path = path;
+        this.maxEntries = maxEntries;
+        this.batchSize = batchSize;
+        Gauge.builder("cache.warmup.restored", this, warmer -> warmer.restored)
+            .description("Tasks loaded into the cache from the startup snapshot")
+            .register(meterRegistry);
+        TimeGauge.builder("cache.warmup.duration", this, TimeUnit.MILLISECONDS, warmer -> warmer.warmupMillis)
+            .description("Time taken to restore the cache snapshot at startup")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        warming = true;
+        loader = Thread.ofPlatform().daemon().name("cache-warmup").start(this::warm);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = loader;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (enabled) {
+            writeSnapshot();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = warming ? Health.outOfService() : Health.up();
+        if (!enabled) {
+            return health.withDetail("snapshot", "disabled").build();
+        }
+        return health
+            .withDetail("snapshot", path.toString())
+            .withDetail("snapshotEntries", snapshotSize)
+            .withDetail("restored", restored)
+            .withDetail("warmupMillis", warmupMillis)
+            .build();
+    }
+
+    private void warm() {
+        long started = System.nanoTime();
+        try {
+            List<UUID> ids = readSnapshot();
+            snapshotSize = ids.size();
+            awaitInvalidationListener();
+            LoadingTaskCache tasks = LoadingTaskCache.of(cacheManager.getCache(TaskService.TASK_CACHE));
+            for (int from = 0; from < ids.size() && running; from += batchSize) {
+                restored += tasks.getTasks(ids.subList(from, Math.min(from + batchSize, ids.size()))).size();
+            }
+            warmupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Cache warm-up restored {} of {} tasks from {} in {} ms", restored, ids.size(), path, warmupMillis);
+        } catch (IOException | RuntimeException e) {
+            // A cold cache is slower, not wrong: report ready anyway
+            log.warn("Cache warm-up from {} failed after restoring {} tasks", path, restored, e);
+        } finally {
+            warming = false;
+        }
+    }
+
+    /** The listener flushes the caches when it connects, which would undo a warm-up that ran first. */
+    private void awaitInvalidationListener() {
+        long deadline = System.nanoTime() + LISTENER_WAIT.toNanos();
+        while (invalidationBus.isEnabled() && !invalidationBus.isListening() && running
+                && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<UUID> readSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readByte() != FORMAT) {
+                log.warn("Ignoring cache snapshot {} written in another format", path);
+                return List.of();
+            }
+            int count = Math.min(in.readInt(), maxEntries);
+            List<UUID> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(new UUID(in.readLong(), in.readLong()));
+            }
+            return ids;
+        }
+    }
+
+    private void writeSnapshot() {
+        List<UUID> ids = LoadingTaskCache.of(cacheManager.getCache(TaskService.TASK_CACHE)).hottest(maxEntries);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // Written aside and moved into place, so a crash mid-write never leaves a truncated snapshot
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeByte(FORMAT);
+                out.writeInt(ids.size());
+                for (UUID id : ids) {
+                    out.writeLong(id.getMostSignificantBits());
+                    out.writeLong(id.getLeastSignificantBits());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote cache snapshot of {} tasks to {}", ids.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not write cache snapshot to {}", path, e);
+        }
+    }
+}
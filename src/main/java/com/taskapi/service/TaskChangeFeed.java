@@ -0,0 +1,607 @@
+package com.taskapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskapi.domain.TaskEventType;
+import com.taskapi.dto.TaskChangeEvent;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.event.TaskDomainEvent;
+import com.taskapi.event.TaskEventSink;
+import com.taskapi.repository.SequencedTaskEvent;
+import com.taskapi.repository.TaskEventRepository;
+import com.taskapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The in-process broadcaster behind {@code GET /tasks/stream}. One tailer thread reads new rows of
+ * {@code task_events} in {@code seq} order. Per batch it loads the changed tasks' current snapshots with
+ * one query (event payloads of merge patches and status changes only hold the delta), renders each change
+ * to JSON once, evaluates each distinct subscriber filter once, and offers the matching
+ * changes to every subscriber's bounded buffer.
+ * <p>
+ * The tailer never writes to a client. Each subscriber drains its own buffer on a virtual thread, so a
+ * slow client only fills its own buffer; when that overflows it is disconnected and resumes with
+ * {@code Last-Event-ID} on reconnect. Because {@code seq} values become visible in increasing order
+ * (see {@code TaskEventRepositoryImpl}), resuming after the last received seq misses nothing.
+ * <p>
+ * The tailer is woken by relay commits on this node, being a {@link TaskEventSink}, and otherwise polls
+ * every {@code poll-interval}, which picks up events relayed by other nodes. It only reads while someone
+ * is subscribed.
+ * <p>
+ * A subscriber joins at the tailer's position and first replays the events between its
+ * {@code Last-Event-ID} and that position from {@code task_events}. More than {@code max-replay} behind,
+ * it gets a {@code reset} instead and should reload its list. Replays query the database from the sender
+ * threads, which are not bounded, so at most {@code max-concurrent-replays} run at once; a subscriber
+ * that finds them all busy gets a {@code reset} as well.
+ * <p>
+ * Metrics: {@code change.feed.subscribers}, {@code change.feed.events} (events read by the tailer),
+ * {@code change.feed.dropped} (subscribers disconnected because their buffer overflowed) and
+ * {@code change.feed.replays.rejected} (resets sent because every replay slot was busy).
+ */
+@Component
+@Slf4j
+public class TaskChangeFeed implements TaskEventSink, SmartLifecycle {
+
+    /** Receives one subscriber's events, always from that subscriber's sender thread. */
+    public interface Listener {
+
+        void change(long seq, TaskEventType type, String json) throws IOException;
+
+        /** Too far behind to replay: the client should reload, then continue from {@code seq}. */
+        void reset(long seq) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        /** The feed is done with this subscriber: its buffer overflowed, a send failed, or shutdown. */
+        void close();
+    }
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final TaskEventRepository eventRepository;
+    private final TaskRepository taskRepository;
+    private final TaskLoader taskLoader;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int bufferSize;
+    private final long maxReplay;
+    private final int maxSubscribers;
+    private final Duration heartbeat;
+    private final Semaphore replays;
+    private final Counter events;
+    private final Counter dropped;
+    private final Counter replaysRejected;
+
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory());
+    // Held by the tailer for a whole batch and by subscribe, so a new subscriber sees a batch entirely or not at all
+    private final ReentrantLock fanOut = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private boolean signalled;
+    private long position;
+    private volatile boolean running;
+    private Thread tailer;
+
+    public TaskChangeFeed(TaskEventRepository eventRepository,
+                          TaskRepository taskRepository,
+                          TaskLoader taskLoader,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.change-feed.enabled:true}") boolean enabled,
+                          @Value("${app.change-feed.poll-interval:250ms}") Duration pollInterval,
+                          @Value("${app.change-feed.batch-size:500}") int batchSize,
+                          @Value("${app.change-feed.buffer-size:1000}") int bufferSize,
+                          @Value("${app.change-feed.max-replay:10000}") long maxReplay,
+                          @Value("${app.change-feed.max-subscribers:1000}") int maxSubscribers,
+                          @Value("${app.change-feed.heartbeat:15s}") Duration heartbeat,
+                          @Value("${app.change-feed.max-concurrent-replays:2}") int maxConcurrentReplays) {
+        this.eventRepository = eventRepository;
+        this.taskRepository = taskRepository;
+        this.taskLoader = taskLoader;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.maxReplay = maxReplay;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+        this.replays = new Semaphore(maxConcurrentReplays);
+        this.events = Counter.builder("change.feed.events")
+            .description("Task events read by the change feed tailer")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("change.feed.dropped")
+            .description("Change feed subscribers disconnected because their buffer overflowed")
+            .register(meterRegistry);
+        this.replaysRejected = Counter.builder("change.feed.replays.rejected")
+            .description("Resuming subscribers sent a reset because every replay slot was busy")
+            .register(meterRegistry);
+        Gauge.builder("change.feed.subscribers", subscribers, List::size)
+            .description("Open change feed subscriptions on this node")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to changes of tasks matching {@code filter}. With a {@code lastEventId} the subscription
+     * starts right after that seq, otherwise at the current end of the feed.
+     */
+    public Subscription subscribe(TaskFilter filter, Long lastEventId, Listener listener) {
+        if (!enabled || !running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Change feed is not available");
+        }
+        Subscription subscription = new Subscription(filter, listener);
+        fanOut.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many change feed subscribers");
+            }
+            if (subscribers.isEmpty()) {
+                // The tailer does not read while nobody listens; skip what nobody was listening to
+                position = eventRepository.maxSeq();
+            }
+            subscription.cursor = lastEventId != null ? Math.max(0, lastEventId) : position;
+            subscription.replayTo = position;
+            subscribers.add(subscription);
+        } finally {
+            fanOut.unlock();
+        }
+        subscription.schedule();
+        return subscription;
+    }
+
+    /** Wakes the tailer once the relay's batch has committed. */
+    @Override
+    public void deliver(List<TaskDomainEvent> delivered) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signal();
+                }
+            });
+        } else {
+            signal();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (enabled) {
+            tailer = Thread.ofPlatform().daemon().name("change-feed-tailer").start(this::run);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        signal();
+        Thread thread = tailer;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+                thread.interrupt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        subscribers.forEach(Subscription::close);
+        senders.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long nextHeartbeat = System.nanoTime() + heartbeat.toNanos();
+        while (running) {
+            try {
+                awaitWork();
+                int read;
+                do {
+                    read = tail();
+                } while (read == batchSize && running);
+                if (System.nanoTime() - nextHeartbeat >= 0) {
+                    subscribers.forEach(subscription -> subscription.offer(HEARTBEAT));
+                    nextHeartbeat = System.nanoTime() + heartbeat.toNanos();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Change feed tail failed; retrying after {}", pollInterval, e);
+                sleep(pollInterval);
+            }
+        }
+    }
+
+    private void awaitWork() throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = pollInterval.toNanos();
+            while (running && !signalled && remaining > 0) {
+                remaining = work.awaitNanos(remaining);
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            signalled = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Reads and fans out one batch after the current position; returns the number of events read. */
+    int tail() {
+        fanOut.lock();
+        try {
+            if (subscribers.isEmpty()) {
+                return 0;
+            }
+            List<SequencedTaskEvent> rows = eventRepository.findAfter(position, batchSize);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            List<Change> changes = changes(rows);
+            Function<TaskFilter, Set<UUID>> matching = matcher(changes);
+            for (Subscription subscription : subscribers) {
+                for (Change change : changes) {
+                    if (subscription.matches(change, matching)) {
+                        subscription.offer(change);
+                    }
+                }
+            }
+            position = rows.get(rows.size() - 1).getSeq();
+            events.increment(rows.size());
+            return rows.size();
+        } finally {
+            fanOut.unlock();
+        }
+    }
+
+    /**
+     * Sends the events between a subscriber's cursor and the position it joined at, straight from the table.
+     * Each batch is read and matched while holding a replay slot, which is released before sending, so a
+     * slow client does not keep one.
+     */
+    private void replay(Subscription subscription) throws IOException {
+        long to = subscription.replayTo;
+        if (to - subscription.cursor > maxReplay) {
+            subscription.listener.reset(to);
+            subscription.cursor = to;
+            return;
+        }
+        while (subscription.cursor < to && !subscription.closed) {
+            if (!replays.tryAcquire()) {
+                // Resets are cheap; the client reloads through the request path, which has its own limits
+                replaysRejected.increment();
+                subscription.listener.reset(to);
+                subscription.cursor = to;
+                return;
+            }
+            List<SequencedTaskEvent> rows;
+            List<Change> matched = new ArrayList<>();
+            try {
+                rows = eventRepository.findAfter(subscription.cursor, batchSize).stream()
+                    .filter(row -> row.getSeq() <= to)
+                    .toList();
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Change> changes = changes(rows);
+                Function<TaskFilter, Set<UUID>> matching = matcher(changes);
+                for (Change change : changes) {
+                    if (subscription.matches(change, matching)) {
+                        matched.add(change);
+                    }
+                }
+            } finally {
+                replays.release();
+            }
+            for (Change change : matched) {
+                subscription.listener.change(change.seq(), change.type(), change.json());
+            }
+            subscription.cursor = rows.get(rows.size() - 1).getSeq();
+        }
+        subscription.cursor = Math.max(subscription.cursor, to);
+    }
+
+    /**
+     * One rendered change per event. Tasks are loaded in their current state with one query; an event
+     * whose task is gone by now is skipped, since its DELETED event follows with the last state.
+     */
+    private List<Change> changes(List<SequencedTaskEvent> rows) {
+        Set<UUID> live = new LinkedHashSet<>();
+        rows.stream().filter(row -> row.getType() != TaskEventType.DELETED).forEach(row -> live.add(row.getTaskId()));
+        Map<UUID, TaskResponse> tasks = live.isEmpty() ? Map.of() : taskLoader.loadAll(live);
+        List<Change> changes = new ArrayList<>(rows.size());
+        for (SequencedTaskEvent row : rows) {
+            TaskResponse task = row.getType() == TaskEventType.DELETED
+                ? read(row.getPayload(), TaskResponse.class)
+                : tasks.get(row.getTaskId());
+            if (task == null && row.getType() != TaskEventType.DELETED) {
+                continue;
+            }
+            String previousStatus = row.getType() == TaskEventType.STATUS_CHANGED ? oldStatus(row.getPayload()) : null;
+            TaskChangeEvent event = TaskChangeEvent.builder()
+                .seq(row.getSeq())
+                .type(row.getType())
+                .taskId(row.getTaskId())
+                .occurredAt(row.getCreatedAt())
+                .task(task)
+                .build();
+            changes.add(new Change(row.getSeq(), row.getType(), row.getTaskId(), task, previousStatus, render(event)));
+        }
+        return changes;
+    }
+
+    /** Ids of live tasks in the batch matching a filter, queried once per distinct filter. */
+    private Function<TaskFilter, Set<UUID>> matcher(List<Change> changes) {
+        List<UUID> candidates = changes.stream()
+            .filter(change -> change.type() != TaskEventType.DELETED)
+            .map(Change::taskId)
+            .distinct()
+            .toList();
+        Map<TaskFilter, Set<UUID>> matched = new HashMap<>();
+        return filter -> matched.computeIfAbsent(filter,
+            key -> Set.copyOf(taskRepository.findMatchingIds(key, candidates)));
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String oldStatus(String payload) {
+        try {
+            return objectMapper.readTree(payload).path("oldStatus").asText(null);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String render(TaskChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render change " + event.getSeq(), e);
+        }
+    }
+
+    private static Set<String> values(Collection<String> values) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (values != null) {
+            values.stream().filter(value -> value != null && !value.isBlank()).forEach(value -> distinct.add(value.trim()));
+        }
+        return distinct;
+    }
+
+    /** The filter without its statuses, which are checked in memory, or null when nothing else is left. */
+    private static TaskFilter withoutStatuses(TaskFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        boolean criteria = !values(filter.getPriorities()).isEmpty()
+            || !values(filter.getAssignees()).isEmpty()
+            || !values(filter.getTags()).isEmpty()
+            || filter.getDueBefore() != null
+            || filter.getDueAfter() != null
+            || (filter.getTextSearch() != null && !filter.getTextSearch().isBlank());
+        return criteria
+            ? new TaskFilter(null, filter.getPriorities(), filter.getAssignees(), filter.getTags(), filter.getTagMatch(),
+                filter.getDueBefore(), filter.getDueAfter(), filter.getTextSearch())
+            : null;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Change(long seq, TaskEventType type, UUID taskId, TaskResponse task, String previousStatus,
+                          String json) {
+    }
+
+    /** One client of the feed; {@link #cancel} it when the client goes away. */
+    public final class Subscription {
+
+        private final Listener listener;
+        private final Set<String> statuses;
+        private final TaskFilter otherCriteria;
+        // The criteria again, for DELETED events, whose task is matched in memory against its last state
+        private final Set<String> priorities;
+        private final Set<String> assignees;
+        private final Set<String> tags;
+        private final boolean allTags;
+        private final Instant dueBefore;
+        private final Instant dueAfter;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean listenerClosed = new AtomicBoolean();
+        private volatile boolean closed;
+        // Only touched by the sender, one drain at a time, after subscribe has set them
+        private long cursor;
+        private long replayTo;
+        private boolean replayed;
+
+        private Subscription(TaskFilter filter, Listener listener) {
+            this.listener = listener;
+            this.statuses = filter != null ? values(filter.getStatuses()) : Set.of();
+            this.otherCriteria = withoutStatuses(filter);
+            this.priorities = filter != null ? values(filter.getPriorities()) : Set.of();
+            this.assignees = filter != null ? values(filter.getAssignees()) : Set.of();
+            this.tags = filter != null ? values(filter.getTags()) : Set.of();
+            this.allTags = filter != null && filter.getTagMatch() == TaskFilter.TagMatch.ALL;
+            this.dueBefore = filter != null ? filter.getDueBefore() : null;
+            this.dueAfter = filter != null ? filter.getDueAfter() : null;
+        }
+
+        public void cancel() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        /**
+         * A change matches when the task matches the filter after it, or, for a status change, matched
+         * it before; a task leaving a status-filtered view is announced. DELETED events have no row left
+         * to query, so their last state is checked in memory.
+         */
+        private boolean matches(Change change, Function<TaskFilter, Set<UUID>> matching) {
+            TaskResponse task = change.task();
+            if (task == null) {
+                return true;
+            }
+            if (!statuses.isEmpty()
+                    && !(task.getStatus() != null && statuses.contains(task.getStatus().name()))
+                    && !(change.previousStatus() != null && statuses.contains(change.previousStatus()))) {
+                return false;
+            }
+            if (otherCriteria == null) {
+                return true;
+            }
+            if (change.type() == TaskEventType.DELETED) {
+                return matchesLastState(task);
+            }
+            return matching.apply(otherCriteria).contains(change.taskId());
+        }
+
+        /**
+         * The non-status criteria of {@code TaskQueryBuilder} applied to a task in memory. Text search
+         * needs the database's full-text parser, so it is not checked here and never excludes a delete.
+         */
+        private boolean matchesLastState(TaskResponse task) {
+            if (!priorities.isEmpty() && !(task.getPriority() != null && priorities.contains(task.getPriority().name()))) {
+                return false;
+            }
+            if (!assignees.isEmpty() && !assignees.contains(task.getAssignee())) {
+                return false;
+            }
+            if (!tags.isEmpty()) {
+                List<String> taskTags = task.getTags() != null ? task.getTags() : List.of();
+                if (allTags ? !taskTags.containsAll(tags) : tags.stream().noneMatch(taskTags::contains)) {
+                    return false;
+                }
+            }
+            Instant due = task.getDueDate();
+            if (dueBefore != null && (due == null || due.isAfter(dueBefore))) {
+                return false;
+            }
+            return dueAfter == null || (due != null && !due.isBefore(dueAfter));
+        }
+
+        private void offer(Object item) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(item)) {
+                // A slow client must not hold up the others; it resumes from its last seq on reconnect
+                dropped.increment();
+                log.debug("Change feed subscriber fell {} events behind; disconnecting it", bufferSize);
+                cancel();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (!replayed) {
+                    replayed = true;
+                    replay(this);
+                }
+                Object item;
+                while (!closed && (item = buffer.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        listener.heartbeat();
+                    } else if (item instanceof Change change && change.seq() > cursor) {
+                        listener.change(change.seq(), change.type(), change.json());
+                        cursor = change.seq();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Change feed subscriber failed; disconnecting it", e);
+                cancel();
+            } finally {
+                scheduled.set(false);
+            }
+            if (closed) {
+                close();
+            } else if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void close() {
+            cancel();
+            if (listenerClosed.compareAndSet(false, true)) {
+                listener.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
+
+/**
+ * Computes the total for a filtered list. One bean per {@link CountMode}; {@link TaskService} picks the
+ * strategy the client asked for.
+ */
+public interface TaskCountStrategy {
+
+    CountMode mode();
+
+    /** Total number of matching tasks, or null when this strategy does not count. */
+    Long count(TaskFilter filter);
+}
@@ -1,17 +1,18 @@
 package com.taskapi.service;
 
-import com.taskapi.domain.TaskEvent;
-import com.taskapi.domain.TaskEventType;
 import com.taskapi.event.TaskDomainEvent;
 import com.taskapi.repository.TaskEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.List;
+
+/**
+ * Writes relayed events to {@code task_events}: one multi-row insert per batch, in the relay's transaction.
+ * Not a {@code TaskEventSink}: the insert takes the seq lock, which is held until commit, so the relay
+ * calls it explicitly as the last statement of the batch.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -19,15 +20,8 @@ public class TaskEventPersister {
 
     private final TaskEventRepository taskEventRepository;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void onTaskDomainEvent(TaskDomainEvent event) {
-        TaskEvent entity = TaskEvent.builder()
-            .taskId(event.getTask().getId())
-            .type(event.getType())
-            .payload(event.getPayload())
-            .build();
-        taskEventRepository.save(entity);
-        log.debug("Persisted task event: taskId={}, type={}", entity.getTaskId(), entity.getType());
+    public void persist(List<TaskDomainEvent> events) {
+        taskEventRepository.insertDelivered(events);
+        log.debug("Persisted {} task events", events.size());
     }
 }
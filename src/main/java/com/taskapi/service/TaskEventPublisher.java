@@ -1,25 +1,63 @@
 package com.taskapi.service;
 
-import com.taskapi.domain.Task;
 import com.taskapi.domain.TaskEventType;
-import com.taskapi.event.TaskDomainEvent;
+import com.taskapi.repository.TaskOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records task events in the outbox as part of the caller's transaction, so an event exists exactly
+ * when its change commits. {@link TaskOutboxRelay} delivers them to the {@code TaskEventSink}s; it is
+ * told about each commit so it can flush without waiting for its next poll. Recording never blocks:
+ * writers call {@link #awaitCapacity} before opening their transaction, so one held back by the relay
+ * holds no connection the relay needs to catch up.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TaskEventPublisher {
 
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TaskOutboxRepository outboxRepository;
+    private final TaskOutboxRelay relay;
+
+    /** Waits while too many events are undelivered; call it before the write's transaction begins. */
+    public void awaitCapacity() {
+        relay.awaitCapacity();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(UUID taskId, TaskEventType type, String payload) {
+        outboxRepository.append(taskId, type, payload != null ? payload : "{}");
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.committed(1);
+            }
+        });
+        log.debug("Recorded task event: taskId={}, type={}", taskId, type);
+    }
 
-    @Async
-    public void publish(Task task, TaskEventType type, String payload) {
-        TaskDomainEvent event = new TaskDomainEvent(this, task, type, payload);
-        applicationEventPublisher.publishEvent(event);
-        log.debug("Published task event: taskId={}, type={}", task.getId(), type);
+    /** Records one event per task id with a single outbox insert; payloads are index-aligned. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(TaskEventType type, List<UUID> taskIds, List<String> payloads) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        outboxRepository.appendAll(type, taskIds, payloads);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.committed(taskIds.size());
+            }
+        });
+        log.debug("Recorded {} task events: type={}", taskIds.size(), type);
     }
 }
@@ -0,0 +1,131 @@
+package com.taskapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskapi.dto.ExportFormat;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.repository.TaskExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes filtered tasks straight from the export cursor to the response stream, one row at a time.
+ * Nothing is collected, so heap use does not depend on the number of rows exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskExportService {
+
+    private static final String CSV_HEADER =
+        "id,title,description,status,priority,dueDate,assignee,tags,version,createdAt,updatedAt";
+
+    private final TaskExportRepository taskExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public void export(TaskFilter filter, String sortField, String sortDir, ExportFormat format, OutputStream out)
+            throws IOException {
+        Sort sort = sortField != null && !sortField.isBlank()
+            ? ("desc".equalsIgnoreCase(sortDir) ? Sort.by(sortField).descending() : Sort.by(sortField).ascending())
+            : Sort.by("createdAt").descending();
+        long started = System.currentTimeMillis();
+        long rows;
+        try {
+            rows = format == ExportFormat.CSV ? writeCsv(filter, sort, out) : writeNdjson(filter, sort, out);
+        } catch (UncheckedIOException e) {
+            // Typically the client went away; the cursor and its connection are already released
+            throw e.getCause();
+        }
+        log.debug("Exported {} tasks as {} in {} ms", rows, format, System.currentTimeMillis() - started);
+    }
+
+    private long writeNdjson(TaskFilter filter, Sort sort, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return forEach(filter, sort, task -> {
+                writer.writeValue(generator, task);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private long writeCsv(TaskFilter filter, Sort sort, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long rows = forEach(filter, sort, task -> {
+            writer.write(csv(task.getId()));
+            writer.write(',');
+            writer.write(csv(task.getTitle()));
+            writer.write(',');
+            writer.write(csv(task.getDescription()));
+            writer.write(',');
+            writer.write(csv(task.getStatus()));
+            writer.write(',');
+            writer.write(csv(task.getPriority()));
+            writer.write(',');
+            writer.write(csv(task.getDueDate()));
+            writer.write(',');
+            writer.write(csv(task.getAssignee()));
+            writer.write(',');
+            writer.write(csv(task.getTags() == null ? null : String.join(";", task.getTags())));
+            writer.write(',');
+            writer.write(csv(task.getVersion()));
+            writer.write(',');
+            writer.write(csv(task.getCreatedAt()));
+            writer.write(',');
+            writer.write(csv(task.getUpdatedAt()));
+            writer.write("\r\n");
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private long forEach(TaskFilter filter, Sort sort, RowWriter rowWriter) {
+        long[] rows = { 0 };
+        Consumer<TaskResponse> action = task -> {
+            try {
+                rowWriter.write(task);
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        taskExportRepository.forEachWithFilters(filter, sort, action);
+        return rows[0];
+    }
+
+    /** RFC 4180 field: quoted only when it contains a separator, quote or line break. */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(TaskResponse task) throws IOException;
+    }
+}
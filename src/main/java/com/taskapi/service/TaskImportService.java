@@ -0,0 +1,181 @@
+package com.taskapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskapi.domain.TaskEventType;
+import com.taskapi.domain.TaskPriority;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.ImportResult;
+import com.taskapi.dto.TaskRequest;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.repository.TaskCopyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON bulk import. Lines are parsed and validated one at a time; valid tasks are buffered up to
+ * the chunk size and loaded with COPY in one short transaction per chunk, so memory and connection
+ * hold time stay bounded no matter how large the upload is. Each chunk's CREATED events go to the outbox
+ * with one multi-row insert in the same transaction. Invalid lines are reported, not loaded.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    private final TaskCopyRepository taskCopyRepository;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TaskRequestValidator requestValidator;
+    private final TaskListCache listCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader requestReader;
+    private final ObjectWriter payloadWriter;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public TaskImportService(TaskCopyRepository taskCopyRepository,
+                             TaskEventPublisher taskEventPublisher,
+                             TaskRequestValidator requestValidator,
+                             TaskListCache listCache,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.import.chunk-size:5000}") int chunkSize,
+                             @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.taskCopyRepository = taskCopyRepository;
+        this.taskEventPublisher = taskEventPublisher;
+        this.requestValidator = requestValidator;
+        this.listCache = listCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requestReader = objectMapper.readerFor(TaskRequest.class);
+        this.payloadWriter = objectMapper.writerFor(TaskResponse.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResult importNdjson(InputStream body) throws IOException {
+        long started = System.nanoTime();
+        List<TaskResponse> chunk = new ArrayList<>(chunkSize);
+        List<ImportResult.LineError> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+        long lineNumber = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String error = null;
+            try {
+                TaskRequest request = requestReader.readValue(line);
+                error = requestValidator.validate(request);
+                if (error == null) {
+                    chunk.add(toTask(request));
+                }
+            } catch (JsonProcessingException e) {
+                error = "Invalid JSON: " + e.getOriginalMessage();
+            }
+            if (error != null) {
+                failed++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ImportResult.LineError(lineNumber, error));
+                }
+            }
+            if (chunk.size() >= chunkSize) {
+                imported += load(chunk, imported);
+            }
+        }
+        imported += load(chunk, imported);
+        log.info("Imported {} tasks ({} rejected lines) in {} ms", imported, failed,
+            (System.nanoTime() - started) / 1_000_000);
+        return ImportResult.builder()
+            .imported(imported)
+            .failed(failed)
+            .errors(errors)
+            .errorsTruncated(failed > errors.size())
+            .build();
+    }
+
+    private int load(List<TaskResponse> chunk, long importedSoFar) {
+        int size = chunk.size();
+        if (size == 0) {
+            return 0;
+        }
+        try {
+            taskEventPublisher.awaitCapacity();
+            transactionTemplate.executeWithoutResult(status -> {
+                taskCopyRepository.copyIn(chunk);
+                taskEventPublisher.publishAll(TaskEventType.CREATED, chunk.stream().map(TaskResponse::getId).toList(),
+                    chunk.stream().map(this::toPayload).toList());
+            });
+            listCache.invalidate(chunk);
+        } catch (RuntimeException e) {
+            log.error("Import chunk failed after {} imported tasks", importedSoFar, e);
+            // Earlier chunks are committed; tell the client where to resume. A saturated event
+            // pipeline keeps its 503 so the client knows the rest can be retried.
+            if (e instanceof ResponseStatusException rejected) {
+                throw new ResponseStatusException(rejected.getStatusCode(),
+                    "Import stopped after " + importedSoFar + " tasks: " + rejected.getReason());
+            }
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Import stopped after " + importedSoFar + " tasks: " + rootMessage(e));
+        }
+        chunk.clear();
+        return size;
+    }
+
+    private static TaskResponse toTask(TaskRequest request) {
+        Instant now = Instant.now();
+        return TaskResponse.builder()
+            .id(UUID.randomUUID())
+            .title(request.getTitle())
+            .description(request.getDescription())
+            .status(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO)
+            .priority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM)
+            .dueDate(request.getDueDate())
+            .assignee(request.getAssignee())
+            // task_tags has (task_id, tag) as primary key
+            .tags(request.getTags() != null
+                ? request.getTags().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList())
+                : new ArrayList<>())
+            .version(0L)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+
+    private String toPayload(TaskResponse task) {
+        try {
+            return payloadWriter.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
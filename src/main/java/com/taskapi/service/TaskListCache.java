@@ -0,0 +1,271 @@
+package com.taskapi.service;
+
+import com.taskapi.cache.LoadingTaskCache;
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Caches list pages and exact counts per normalized filter, invalidated by generation counters instead
+ * of flushing. Every status, assignee and tag value hashes to a slot with its own generation, and a
+ * global generation moves on every write. An entry remembers the sum of the generations its filter
+ * depends on when it was loaded; if that sum has moved since, the entry is stale and reloaded.
+ * <p>
+ * A filter on status depends only on the slots of its statuses: any task it could return has one of
+ * them, and a write bumps the slots of the task's values before and after the change. Filters without
+ * status, assignee or tag constraints depend on the global generation. Generations are bumped after
+ * commit and read before loading, so an entry can be stale-marked spuriously but never serve old rows
+ * as current. The same invalidations are sent to other nodes through {@link CacheInvalidationBus}.
+ */
+@Component
+public class TaskListCache {
+
+    static final String TASK_LIST_CACHE = "taskList";
+
+    private static final int SLOTS = 1024;
+
+    private final Cache lists;
+    private final Cache counts;
+    private final Cache tasks;
+    private final CacheInvalidationBus invalidationBus;
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLongArray statusGenerations = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray assigneeGenerations = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray tagGenerations = new AtomicLongArray(SLOTS);
+    private final Map<String, Counter> listLookups;
+    private final Map<String, Counter> countLookups;
+
+    public TaskListCache(CacheManager cacheManager, MeterRegistry meterRegistry,
+                         CacheInvalidationBus invalidationBus) {
+        this.tasks = local(Objects.requireNonNull(cacheManager.getCache(TaskService.TASK_CACHE)));
+        this.invalidationBus = invalidationBus;
+        this.lists = Objects.requireNonNull(cacheManager.getCache(TASK_LIST_CACHE));
+        this.counts = Objects.requireNonNull(cacheManager.getCache(ExactTaskCountStrategy.TASK_COUNT_CACHE));
+        this.listLookups = counters(meterRegistry, TASK_LIST_CACHE);
+        this.countLookups = counters(meterRegistry, ExactTaskCountStrategy.TASK_COUNT_CACHE);
+    }
+
+    /** Returns the cached page for this exact list request, loading it when absent or stale. */
+    public <T> T list(TaskFilter filter, String sortField, boolean ascending, int page, int size,
+                      CountMode countMode, Supplier<T> loader) {
+        String key = key(filter) + "|sort=" + sortField + (ascending ? ",asc" : ",desc")
+            + "|page=" + page + "|size=" + size + "|count=" + countMode;
+        return lookup(lists, listLookups, key, filter, loader);
+    }
+
+    /** Returns the cached exact count for the filter, loading it when absent or stale. */
+    public Long count(TaskFilter filter, Supplier<Long> loader) {
+        return lookup(counts, countLookups, key(filter), filter, loader);
+    }
+
+    /** Marks lists containing any of these tasks (as they are now) stale, here and on other nodes. */
+    public void invalidate(Collection<TaskResponse> tasks) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        Set<String> statuses = new LinkedHashSet<>();
+        Set<String> assignees = new LinkedHashSet<>();
+        Set<String> tags = new LinkedHashSet<>();
+        for (TaskResponse task : tasks) {
+            ids.add(task.getId());
+            add(statuses, task.getStatus() != null ? task.getStatus().name() : null);
+            add(assignees, task.getAssignee());
+            if (task.getTags() != null) {
+                tags.addAll(task.getTags());
+            }
+        }
+        invalidate(ids, statuses, assignees, tags);
+    }
+
+    /** Marks lists that contained the task before a write, or contain it after, stale. */
+    public void invalidate(TaskResponse task, String previousStatus, String previousAssignee,
+                           List<String> previousTags) {
+        Set<String> statuses = new LinkedHashSet<>();
+        Set<String> assignees = new LinkedHashSet<>();
+        Set<String> tags = new LinkedHashSet<>(task.getTags());
+        add(statuses, task.getStatus().name());
+        add(statuses, previousStatus);
+        add(assignees, task.getAssignee());
+        add(assignees, previousAssignee);
+        if (previousTags != null) {
+            tags.addAll(previousTags);
+        }
+        invalidate(Set.of(task.getId()), statuses, assignees, tags);
+    }
+
+    /**
+     * Applies invalidations committed on another node: their generations are bumped and their tasks
+     * evicted here. A flush marks every entry stale and empties the task cache.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidationEvent event) {
+        if (event.isFlushAll()) {
+            global.incrementAndGet();
+            for (int slot = 0; slot < SLOTS; slot++) {
+                statusGenerations.incrementAndGet(slot);
+                assigneeGenerations.incrementAndGet(slot);
+                tagGenerations.incrementAndGet(slot);
+            }
+            if (tasks instanceof LoadingTaskCache loading) {
+                loading.clearLocal();
+            } else {
+                tasks.clear();
+            }
+            return;
+        }
+        bump(event.getStatuses(), event.getAssignees(), event.getTags());
+        // The writing node already updated the shared tier; only this node's copy is stale
+        event.getTaskIds().forEach(id -> {
+            if (tasks instanceof LoadingTaskCache loading) {
+                loading.evictLocal(id.toString());
+            } else {
+                tasks.evict(id.toString());
+            }
+        });
+    }
+
+    /** Remote invalidations arrive outside any transaction, so they go straight to the target cache. */
+    private static Cache local(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+
+    private void invalidate(Set<UUID> ids, Set<String> statuses, Set<String> assignees, Set<String> tags) {
+        afterCommit(() -> bump(statuses, assignees, tags));
+        invalidationBus.publish(ids, statuses, assignees, tags);
+    }
+
+    private <T> T lookup(Cache cache, Map<String, Counter> counters, String key, TaskFilter filter,
+                         Supplier<T> loader) {
+        long stamp = stamp(filter);
+        Entry cached = cache.get(key, Entry.class);
+        if (cached != null && cached.stamp() == stamp) {
+            counters.get("hit").increment();
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.value();
+            return value;
+        }
+        counters.get(cached != null ? "stale" : "miss").increment();
+        T value = loader.get();
+        if (value != null) {
+            cache.put(key, new Entry(stamp, value));
+        }
+        return value;
+    }
+
+    private long stamp(TaskFilter filter) {
+        long stamp = 0;
+        boolean scoped = false;
+        if (!isEmpty(filter.getStatuses())) {
+            stamp += sum(statusGenerations, filter.getStatuses());
+            scoped = true;
+        }
+        if (!isEmpty(filter.getAssignees())) {
+            stamp += sum(assigneeGenerations, filter.getAssignees());
+            scoped = true;
+        }
+        if (!isEmpty(filter.getTags())) {
+            stamp += sum(tagGenerations, filter.getTags());
+            scoped = true;
+        }
+        return scoped ? stamp : global.get();
+    }
+
+    private void bump(Collection<String> statuses, Collection<String> assignees, Collection<String> tags) {
+        global.incrementAndGet();
+        statuses.forEach(status -> statusGenerations.incrementAndGet(slot(status)));
+        assignees.forEach(assignee -> assigneeGenerations.incrementAndGet(slot(assignee)));
+        tags.forEach(tag -> tagGenerations.incrementAndGet(slot(tag)));
+    }
+
+    private static void add(Set<String> values, String value) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    private static long sum(AtomicLongArray generations, List<String> values) {
+        // Generations only grow, so the sum moves whenever any slot does; shared slots only over-invalidate.
+        // Summed over the normalized values so equivalent filters sharing a key also share a stamp
+        long sum = 0;
+        for (String value : normalize(values)) {
+            sum += generations.get(slot(value));
+        }
+        return sum;
+    }
+
+    private static int slot(String value) {
+        int hash = value.hashCode();
+        return (hash ^ (hash >>> 16)) & (SLOTS - 1);
+    }
+
+    /** Filter with sorted, de-duplicated values so equivalent requests share one key. */
+    private static String key(TaskFilter filter) {
+        return "statuses=" + normalize(filter.getStatuses())
+            + "|priorities=" + normalize(filter.getPriorities())
+            + "|assignees=" + normalize(filter.getAssignees())
+            + "|tags=" + normalize(filter.getTags())
+            + "|tagMatch=" + (isEmpty(filter.getTags()) ? null : filter.getTagMatch())
+            + "|dueBefore=" + filter.getDueBefore()
+            + "|dueAfter=" + filter.getDueAfter()
+            + "|text=" + (filter.getTextSearch() != null && !filter.getTextSearch().isBlank()
+                ? filter.getTextSearch().trim() : null);
+    }
+
+    private static List<String> normalize(List<String> values) {
+        return isEmpty(values) ? List.of() : values.stream().distinct().sorted().toList();
+    }
+
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Map<String, Counter> counters(MeterRegistry registry, String cache) {
+        return Map.of(
+            "hit", counter(registry, cache, "hit"),
+            "miss", counter(registry, cache, "miss"),
+            "stale", counter(registry, cache, "stale"));
+    }
+
+    private static Counter counter(MeterRegistry registry, String cache, String result) {
+        return Counter.builder("task.list.cache.lookups")
+            .description("List and count cache lookups; stale means the entry's generations had moved")
+            .tag("cache", cache)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private record Entry(long stamp, Object value) {
+    }
+}
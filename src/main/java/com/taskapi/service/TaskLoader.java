@@ -0,0 +1,38 @@
+package com.taskapi.service;
+
+import com.taskapi.cache.TaskCacheLoader;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.mapper.TaskMapper;
+import com.taskapi.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Loads tasks for the {@code tasks} cache; runs on the cache's loader threads. */
+@Component
+@RequiredArgsConstructor
+public class TaskLoader implements TaskCacheLoader {
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse load(UUID id) {
+        return taskRepository.findByIdWithTags(id).map(taskMapper::toResponse).orElse(null);
+    }
+
+    /** One {@code id = ANY(?)} query for the whole batch. */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, TaskResponse> loadAll(Collection<UUID> ids) {
+        return taskRepository.findAllByIds(ids).stream()
+            .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+    }
+}
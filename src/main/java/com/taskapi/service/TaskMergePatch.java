@@ -0,0 +1,135 @@
+package com.taskapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskapi.domain.TaskPriority;
+import com.taskapi.domain.TaskStatus;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON Merge Patch (RFC 7396) for a task, validated and turned into the columns it touches. Absent
+ * members are left alone, null clears a nullable field, and {@code tags} replaces the tag set.
+ */
+@Getter
+final class TaskMergePatch {
+
+    /** API field name to database column, for the fields a patch may set. */
+    static final Map<String, String> COLUMNS = Map.of(
+        "title", "title",
+        "description", "description",
+        "status", "status",
+        "priority", "priority",
+        "dueDate", "due_date",
+        "assignee", "assignee"
+    );
+
+    private final Map<String, Object> columns = new LinkedHashMap<>();
+    private List<String> tags;
+    private Long expectedVersion;
+
+    private TaskMergePatch() {
+    }
+
+    static TaskMergePatch parse(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw invalid("Merge patch must be a JSON object");
+        }
+        TaskMergePatch result = new TaskMergePatch();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            switch (name) {
+                case "title" -> result.columns.put("title", text(name, value, 200, false));
+                case "description" -> result.columns.put("description", text(name, value, 5000, true));
+                case "assignee" -> result.columns.put("assignee", text(name, value, 255, true));
+                case "status" -> result.columns.put("status", enumValue(name, value, TaskStatus.class));
+                case "priority" -> result.columns.put("priority", enumValue(name, value, TaskPriority.class));
+                case "dueDate" -> result.columns.put("due_date", instant(name, value));
+                case "tags" -> result.tags = tags(value);
+                case "version" -> {
+                    if (!value.canConvertToLong()) {
+                        throw invalid("version: must be a number");
+                    }
+                    result.expectedVersion = value.asLong();
+                }
+                default -> throw invalid(name + ": cannot be patched");
+            }
+        }
+        return result;
+    }
+
+    private static String text(String name, JsonNode value, int maxLength, boolean nullable) {
+        if (value.isNull()) {
+            if (!nullable) {
+                throw invalid(name + ": must not be null");
+            }
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw invalid(name + ": must be a string");
+        }
+        String text = value.asText();
+        if (!nullable && text.isBlank()) {
+            throw invalid(name + ": must not be blank");
+        }
+        if (text.length() > maxLength) {
+            throw invalid(name + ": size must be at most " + maxLength);
+        }
+        return text;
+    }
+
+    private static <E extends Enum<E>> E enumValue(String name, JsonNode value, Class<E> type) {
+        if (!value.isTextual()) {
+            throw invalid(name + ": must be one of " + List.of(type.getEnumConstants()));
+        }
+        try {
+            return Enum.valueOf(type, value.asText());
+        } catch (IllegalArgumentException e) {
+            throw invalid(name + ": must be one of " + List.of(type.getEnumConstants()));
+        }
+    }
+
+    private static Instant instant(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.asText());
+        } catch (DateTimeParseException e) {
+            throw invalid(name + ": must be an ISO-8601 instant");
+        }
+    }
+
+    private static List<String> tags(JsonNode value) {
+        if (value.isNull()) {
+            return List.of();
+        }
+        if (!value.isArray()) {
+            throw invalid("tags: must be an array of strings");
+        }
+        LinkedHashSet<String> tags = new LinkedHashSet<>();
+        for (JsonNode tag : value) {
+            if (!tag.isTextual() || tag.asText().length() > 255) {
+                throw invalid("tags: must be strings of at most 255 characters");
+            }
+            tags.add(tag.asText());
+        }
+        return new ArrayList<>(tags);
+    }
+
+    private static ResponseStatusException invalid(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
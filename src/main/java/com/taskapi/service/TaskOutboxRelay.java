@@ -0,0 +1,319 @@
+package com.taskapi.service;
+
+import com.taskapi.event.TaskDomainEvent;
+import com.taskapi.event.TaskEventSink;
+import com.taskapi.repository.TaskOutboxEntry;
+import com.taskapi.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves task events from {@code task_outbox} to every {@link TaskEventSink}. Each batch is the oldest
+ * unlocked entries, locked with {@code FOR UPDATE SKIP LOCKED}, handed to the sinks in id order,
+ * deleted and written to {@code task_events}, all in one transaction: several nodes can relay at once
+ * without delivering the same entry twice, and a failed batch stays in the outbox to be retried. The
+ * {@code task_events} insert comes last because it takes the lock that orders {@code seq} by commit;
+ * relays on different nodes only take turns for that insert and their commit.
+ * <p>
+ * One writer thread does all relaying. Commits on this node report their events through
+ * {@link #committed}, and the writer flushes as soon as a full batch is pending or
+ * {@code flush-interval} after the first pending event, whichever comes first. With nothing pending
+ * it still polls every {@code idle-poll} for entries written by other nodes or left by a crash.
+ * <p>
+ * Pending events are bounded by {@code max-pending}. When the bound is reached,
+ * {@link #awaitCapacity} either blocks writers until the relay catches up (failing with 503 after
+ * {@code block-timeout}) or, with {@code SPILL}, lets the outbox table absorb the backlog on disk.
+ * <p>
+ * Metrics: {@code outbox.relay.pending} (queue depth), {@code outbox.relay.events} (throughput),
+ * {@code outbox.relay.batch.size}, {@code outbox.relay.flush} (latency of one flush),
+ * {@code outbox.relay.overflow}, {@code outbox.relay.failures}, and {@code outbox.relay.lag}, the age of
+ * the oldest entry in the last batch (zero once the outbox is drained).
+ */
+@Component
+@Slf4j
+public class TaskOutboxRelay implements SmartLifecycle {
+
+    public enum Overflow { BLOCK, SPILL }
+
+    private final TaskOutboxRepository outboxRepository;
+    private final List<TaskEventSink> sinks;
+    private final TaskEventPersister eventPersister;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration idlePoll;
+    private final long maxPending;
+    private final Overflow overflow;
+    private final Duration blockTimeout;
+    private final Counter delivered;
+    private final Counter failures;
+    private final Counter overflows;
+    private final DistributionSummary batchSizes;
+    private final Timer flushes;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private final Condition capacity = lock.newCondition();
+    private volatile long firstPendingNanos;
+    private volatile long lagMillis;
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskOutboxRelay(TaskOutboxRepository outboxRepository,
+                           List<TaskEventSink> sinks,
+                           TaskEventPersister eventPersister,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                           @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                           @Value("${app.outbox.relay.flush-interval:20ms}") Duration flushInterval,
+                           @Value("${app.outbox.relay.idle-poll:1s}") Duration idlePoll,
+                           @Value("${app.outbox.relay.max-pending:20000}") long maxPending,
+                           @Value("${app.outbox.relay.overflow:block}") String overflow,
+                           @Value("${app.outbox.relay.block-timeout:2s}") Duration blockTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.eventPersister = eventPersister;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.idlePoll = idlePoll;
+        this.maxPending = maxPending;
+        this.overflow = Overflow.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeout = blockTimeout;
+        this.delivered = Counter.builder("outbox.relay.events")
+            .description("Task events delivered from the outbox to all sinks")
+            .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+            .description("Outbox batches that failed and were left for retry")
+            .register(meterRegistry);
+        this.overflows = Counter.builder("outbox.relay.overflow")
+            .description("Writes that found the relay's pending bound reached")
+            .tag("policy", this.overflow.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("outbox.relay.batch.size")
+            .description("Task events per relayed outbox batch")
+            .register(meterRegistry);
+        this.flushes = Timer.builder("outbox.relay.flush")
+            .description("Time to relay everything pending, one or more batches")
+            .register(meterRegistry);
+        Gauge.builder("outbox.relay.pending", pending, AtomicLong::get)
+            .description("Task events committed on this node and not yet relayed")
+            .register(meterRegistry);
+        TimeGauge.builder("outbox.relay.lag", this, TimeUnit.MILLISECONDS, relay -> relay.lagMillis)
+            .description("Age of the oldest task event in the last relayed batch")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Called before a write appends to the outbox. Returns at once while fewer than {@code max-pending}
+     * events wait; beyond that it blocks up to {@code block-timeout} for the relay to catch up, or with
+     * {@code SPILL} returns anyway.
+     */
+    public void awaitCapacity() {
+        if (pending.get() < maxPending) {
+            return;
+        }
+        overflows.increment();
+        if (overflow == Overflow.SPILL) {
+            return;
+        }
+        long remaining = blockTimeout.toNanos();
+        lock.lock();
+        try {
+            while (pending.get() >= maxPending) {
+                if (remaining <= 0) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Task event pipeline is saturated; retry later");
+                }
+                remaining = capacity.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted waiting for the event pipeline");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Reports events that were just committed to the outbox on this node. */
+    public void committed(int events) {
+        if (!enabled) {
+            // Other nodes relay them; counting here would only hold back this node's writes
+            return;
+        }
+        long before = pending.getAndAdd(events);
+        if (before == 0) {
+            firstPendingNanos = System.nanoTime();
+        }
+        // Wake the writer when it has to recompute its deadline or a full batch is waiting
+        if (before == 0 || before + events >= batchSize) {
+            lock.lock();
+            try {
+                work.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (enabled) {
+            writer = Thread.ofPlatform().daemon().name("outbox-relay").start(this::run);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            // Let a batch in flight commit; interrupt only a writer that is stuck
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            thread.interrupt();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                awaitWork();
+                flush();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Outbox relay batch failed; it stays in the outbox for the next run", e);
+                sleep(idlePoll);
+            }
+        }
+    }
+
+    /** Waits for a full batch, the flush deadline of the first pending event, or the idle poll. */
+    private void awaitWork() throws InterruptedException {
+        long idleDeadline = System.nanoTime() + idlePoll.toNanos();
+        lock.lock();
+        try {
+            while (running && pending.get() < batchSize) {
+                long deadline = pending.get() > 0
+                    ? Math.min(idleDeadline, firstPendingNanos + flushInterval.toNanos())
+                    : idleDeadline;
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                work.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Relays batches until one comes back short, so everything pending when it started is delivered. */
+    private void flush() {
+        long seen = pending.get();
+        long started = System.nanoTime();
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize && running);
+        if (total > 0) {
+            flushes.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (relayed < batchSize) {
+            // Whatever this node committed before the flush is gone from the outbox, relayed here or elsewhere
+            if (pending.addAndGet(-seen) > 0) {
+                firstPendingNanos = System.nanoTime();
+            }
+            lock.lock();
+            try {
+                capacity.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Relays one batch and returns its size. */
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<TaskOutboxEntry> batch = outboxRepository.lockOldest(batchSize);
+            if (batch.isEmpty()) {
+                lagMillis = 0;
+                return 0;
+            }
+            lagMillis = Math.max(0, Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis());
+            List<TaskDomainEvent> events = batch.stream().map(this::toEvent).toList();
+            for (TaskEventSink sink : sinks) {
+                sink.deliver(events);
+            }
+            outboxRepository.delete(batch);
+            // Last: the seq lock it takes is held until commit, so keep everything else out of that window
+            eventPersister.persist(events);
+            return batch.size();
+        });
+        int count = relayed != null ? relayed : 0;
+        if (count > 0) {
+            delivered.increment(count);
+            batchSizes.record(count);
+        }
+        return count;
+    }
+
+    private TaskDomainEvent toEvent(TaskOutboxEntry entry) {
+        return new TaskDomainEvent(this, entry.getEventId(), entry.getTaskId(), entry.getType(), entry.getPayload(),
+            entry.getCreatedAt());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.TaskRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bean Validation for requests that arrive in bulk, where one bad item must be reported rather than
+ * failing the whole request the way {@code @Valid} does.
+ */
+@Component
+@RequiredArgsConstructor
+class TaskRequestValidator {
+
+    private final Validator validator;
+
+    /** Null when valid, otherwise "field: message" pairs joined with "; ". */
+    String validate(TaskRequest request) {
+        if (request == null) {
+            return "Expected a task object";
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.joining("; "));
+    }
+}
@@ -1,40 +1,63 @@
 package com.taskapi.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.taskapi.cache.LoadingTaskCache;
 import com.taskapi.domain.Task;
 import com.taskapi.domain.TaskEventType;
 import com.taskapi.domain.TaskPriority;
 import com.taskapi.domain.TaskStatus;
 import com.taskapi.dto.*;
 import com.taskapi.mapper.TaskMapper;
+import com.taskapi.repository.CursorPage;
+import com.taskapi.repository.StatusTransition;
+import com.taskapi.repository.TaskCursor;
 import com.taskapi.repository.TaskEventRepository;
 import com.taskapi.repository.TaskRepository;
+import com.taskapi.repository.TaskUpdate;
+import com.taskapi.repository.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TaskService {
 
-    private static final String TASK_CACHE = "tasks";
-    private static final String TASK_LIST_CACHE = "taskList";
+    static final String TASK_CACHE = "tasks";
 
     private final TaskRepository taskRepository;
     private final TaskEventRepository taskEventRepository;
@@ -42,101 +65,273 @@ public class TaskService {
     private final TaskEventPublisher taskEventPublisher;
     private final IdempotencyService idempotencyService;
     private final ObjectMapper objectMapper;
+    private final List<TaskCountStrategy> countStrategies;
+    private final TaskRequestValidator requestValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final TaskListCache listCache;
+    private final TaskLoader taskLoader;
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = TASK_CACHE, key = "#id.toString()")
+    @Value("${app.batch-get.max-ids:500}")
+    private int batchGetMaxIds;
+
+    /**
+     * Served from the {@code tasks} cache: concurrent misses share one load, hot entries are refreshed
+     * in the background, and a failing load falls back to the last-known copy (see {@link LoadingTaskCache}).
+     * Inside a transaction the read goes through it instead, so it sees that transaction's own writes.
+     */
     public TaskResponse getById(UUID id) {
-        Task task = taskRepository.findByIdWithTags(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id));
-        return taskMapper.toResponse(task);
+        TaskResponse task = TransactionSynchronizationManager.isActualTransactionActive()
+            ? taskLoader.load(id)
+            : taskCache().getTask(id);
+        if (task == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id);
+        }
+        return task;
+    }
+
+    /**
+     * Many tasks by id, in request order, each found or not found. Cached tasks are answered from the
+     * {@code tasks} cache; the misses are loaded together with one {@code id = ANY(?)} query and put
+     * into the cache, so a board of hundreds of tasks costs at most one query.
+     */
+    public List<BatchGetItem> getByIds(List<UUID> ids) {
+        if (ids.size() > batchGetMaxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + batchGetMaxIds + " ids can be fetched at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not contain null");
+        }
+        Map<UUID, TaskResponse> tasks = TransactionSynchronizationManager.isActualTransactionActive()
+            ? taskLoader.loadAll(new LinkedHashSet<>(ids))
+            : taskCache().getTasks(ids);
+        return ids.stream()
+            .map(id -> tasks.containsKey(id) ? BatchGetItem.found(tasks.get(id)) : BatchGetItem.notFound(id))
+            .toList();
     }
 
-    @Transactional
-    @CacheEvict(value = { TASK_CACHE, TASK_LIST_CACHE }, allEntries = true)
+    @CachePut(value = TASK_CACHE, key = "#result.id.toString()")
     public TaskResponse create(TaskRequest request, String idempotencyKey) {
-        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            var existing = idempotencyService.findExistingResponseTaskId(idempotencyKey);
-            if (existing.isPresent()) {
-                log.info("Idempotent create: returning existing task {}", existing.get());
-                return getById(existing.get());
+        return writing(() -> {
+            if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+                var existing = idempotencyService.findExistingResponseTaskId(idempotencyKey);
+                if (existing.isPresent()) {
+                    log.info("Idempotent create: returning existing task {}", existing.get());
+                    return getById(existing.get());
+                }
             }
-        }
 
-        Task task = taskMapper.toEntity(request);
-        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO);
-        task.setPriority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM);
-        task.setTags(request.getTags() != null ? new ArrayList<>(request.getTags()) : new ArrayList<>());
-        task = taskRepository.save(task);
-        taskEventPublisher.publish(task, TaskEventType.CREATED, toPayload(task));
+            Task task = taskRepository.save(newTask(request));
+            taskEventPublisher.publish(task.getId(), TaskEventType.CREATED, toPayload(task));
 
-        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            idempotencyService.storeKey(idempotencyKey, task.getId());
-        }
-        return taskMapper.toResponse(task);
+            if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+                idempotencyService.storeKey(idempotencyKey, task.getId());
+            }
+            TaskResponse response = taskMapper.toResponse(task);
+            listCache.invalidate(List.of(response));
+            return response;
+        });
     }
 
-    @Transactional
-    @CacheEvict(value = { TASK_CACHE, TASK_LIST_CACHE }, allEntries = true)
+    /**
+     * Full update in one statement: non-null request fields are written, the version is bumped and, when
+     * {@code request.version} is set, checked. No prior read; a 0-row result is a 404 or 409.
+     */
+    @CachePut(value = TASK_CACHE, key = "#result.id.toString()")
     public TaskResponse update(UUID id, TaskRequest request) {
-        Task task = taskRepository.findByIdWithTags(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id));
-        taskMapper.updateEntity(request, task);
-        if (request.getStatus() != null) task.setStatus(request.getStatus());
-        if (request.getPriority() != null) task.setPriority(request.getPriority());
-        if (request.getTags() != null) task.setTags(new ArrayList<>(request.getTags()));
-        try {
-            task = taskRepository.save(task);
-        } catch (jakarta.persistence.OptimisticLockException e) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified by another request");
-        }
-        taskEventPublisher.publish(task, TaskEventType.UPDATED, toPayload(task));
-        return taskMapper.toResponse(task);
+        return writing(() -> {
+            Map<String, Object> columns = new LinkedHashMap<>();
+            putIfPresent(columns, "title", request.getTitle());
+            putIfPresent(columns, "description", request.getDescription());
+            putIfPresent(columns, "status", request.getStatus());
+            putIfPresent(columns, "priority", request.getPriority());
+            putIfPresent(columns, "due_date", request.getDueDate());
+            putIfPresent(columns, "assignee", request.getAssignee());
+            List<String> tags = request.getTags() != null ? request.getTags().stream().distinct().toList() : null;
+            TaskUpdate update = applied(taskRepository.updateColumns(id, columns, tags, request.getVersion()), id);
+            invalidateLists(update);
+            TaskResponse task = update.getTask();
+            taskEventPublisher.publish(id, TaskEventType.UPDATED, toPayload(task));
+            return task;
+        });
     }
 
-    @Transactional
-    @CacheEvict(value = { TASK_CACHE, TASK_LIST_CACHE }, allEntries = true)
+    /**
+     * JSON Merge Patch: only the fields present in the patch are written and tags are diffed. The
+     * UPDATED event carries just the fields whose value actually changed and the tags added/removed.
+     */
+    @CachePut(value = TASK_CACHE, key = "#result.id.toString()")
+    public TaskResponse patch(UUID id, JsonNode mergePatch) {
+        return writing(() -> {
+            TaskMergePatch patch = TaskMergePatch.parse(mergePatch);
+            TaskUpdate update = applied(
+                taskRepository.updateColumns(id, patch.getColumns(), patch.getTags(), patch.getExpectedVersion()), id);
+            invalidateLists(update);
+            taskEventPublisher.publish(id, TaskEventType.UPDATED, toDeltaPayload(patch, update));
+            return update.getTask();
+        });
+    }
+
+    /** Status flip as a single UPDATE ... RETURNING that also yields the previous status for the event. */
+    @CachePut(value = TASK_CACHE, key = "#result.id.toString()")
     public TaskResponse updateStatus(UUID id, TaskStatusUpdateRequest request) {
-        Task task = taskRepository.findByIdWithTags(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id));
-        TaskStatus oldStatus = task.getStatus();
-        task.setStatus(request.getStatus());
-        try {
-            task = taskRepository.save(task);
-        } catch (jakarta.persistence.OptimisticLockException e) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified by another request");
-        }
-        taskEventPublisher.publish(task, TaskEventType.STATUS_CHANGED,
-            "{\"oldStatus\":\"" + oldStatus + "\",\"newStatus\":\"" + task.getStatus() + "\"}");
-        return taskMapper.toResponse(task);
+        return writing(() -> {
+            StatusTransition transition = applied(
+                taskRepository.updateStatus(id, request.getStatus(), request.getVersion()), id);
+            TaskResponse task = transition.getTask();
+            listCache.invalidate(task, transition.getPreviousStatus().name(), task.getAssignee(), task.getTags());
+            taskEventPublisher.publish(id, TaskEventType.STATUS_CHANGED,
+                "{\"oldStatus\":\"" + transition.getPreviousStatus() + "\",\"newStatus\":\"" + task.getStatus() + "\"}");
+            return task;
+        });
     }
 
-    @Transactional
-    @CacheEvict(value = { TASK_CACHE, TASK_LIST_CACHE }, allEntries = true)
+    @CacheEvict(value = TASK_CACHE, key = "#id.toString()")
     public void delete(UUID id) {
-        Task task = taskRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id));
-        taskEventPublisher.publish(task, TaskEventType.DELETED, toPayload(task));
-        taskRepository.delete(task);
+        writing(() -> {
+            Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id));
+            TaskResponse response = taskMapper.toResponse(task);
+            taskEventPublisher.publish(id, TaskEventType.DELETED, toPayload(response));
+            taskRepository.delete(task);
+            listCache.invalidate(List.of(response));
+            return null;
+        });
     }
 
-    @Transactional(readOnly = true)
     public Page<TaskResponse> list(String status, String priority, String assignee, String tag,
                                    Instant dueBefore, Instant dueAfter, String textSearch,
                                    int page, int size, String sortField, String sortDir) {
-        Sort sort = sortField != null && !sortField.isBlank()
-            ? ("desc".equalsIgnoreCase(sortDir) ? Sort.by(sortField).descending() : Sort.by(sortField).ascending())
-            : Sort.by("createdAt").descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Task> tasks = taskRepository.findAllWithFilters(
-            status, priority, assignee, tag, dueBefore, dueAfter, textSearch, pageable);
-        return tasks.map(taskMapper::toResponse);
+        return list(TaskFilter.of(status, priority, assignee, tag, dueBefore, dueAfter, textSearch),
+            page, size, sortField, sortDir);
+    }
+
+    /**
+     * Moves many tasks to one status with a single UPDATE and records their STATUS_CHANGED events with
+     * a single outbox INSERT. Only the changed tasks are evicted; list caches are invalidated once for the batch.
+     */
+    public BulkChangeResult bulkUpdateStatus(BulkStatusUpdateRequest request) {
+        return writing(() -> {
+            Map<UUID, Long> targets = bulkTargets(request.getIds(), request.getVersions(), request.getFilter());
+            List<StatusTransition> changed = targets != null
+                ? taskRepository.updateStatusByIds(request.getStatus(), targets)
+                : withFilter(() -> taskRepository.updateStatusByFilter(request.getStatus(), request.getFilter()));
+            List<UUID> ids = changed.stream().map(c -> c.getTask().getId()).toList();
+            taskEventPublisher.publishAll(TaskEventType.STATUS_CHANGED, ids, changed.stream()
+                .map(c -> "{\"oldStatus\":\"" + c.getPreviousStatus() + "\",\"newStatus\":\"" + c.getTask().getStatus() + "\"}")
+                .toList());
+            changed.forEach(c -> listCache.invalidate(c.getTask(), c.getPreviousStatus().name(),
+                c.getTask().getAssignee(), c.getTask().getTags()));
+            evictTasks(ids);
+            return bulkResult(targets, ids);
+        });
+    }
+
+    /** Deletes many tasks with a single DELETE and records their DELETED events with a single outbox INSERT. */
+    public BulkChangeResult bulkDelete(BulkDeleteRequest request) {
+        return writing(() -> {
+            Map<UUID, Long> targets = bulkTargets(request.getIds(), request.getVersions(), request.getFilter());
+            List<TaskResponse> deleted = targets != null
+                ? taskRepository.deleteByIds(targets)
+                : withFilter(() -> taskRepository.deleteByFilter(request.getFilter()));
+            List<UUID> ids = deleted.stream().map(TaskResponse::getId).toList();
+            taskEventPublisher.publishAll(TaskEventType.DELETED, ids, deleted.stream().map(task -> toPayload(task)).toList());
+            listCache.invalidate(deleted);
+            evictTasks(ids);
+            return bulkResult(targets, ids);
+        });
+    }
+
+    public Page<TaskResponse> list(TaskFilter filter, int page, int size, String sortField, String sortDir) {
+        return listPage(filter, page, size, sortField, sortDir);
+    }
+
+    /**
+     * Offset-paginated list. Returns a {@link Page} when the count mode produces a total, otherwise a
+     * plain {@link Slice} whose hasNext comes from a size+1 probe. Results are cached per normalized
+     * request in {@link TaskListCache}. Only a miss opens a (read-only) transaction, so a cached page
+     * is served without touching the database pool.
+     */
+    public Slice<TaskResponse> list(TaskFilter filter, int page, int size, String sortField, String sortDir,
+                                    CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return listPage(filter, page, size, sortField, sortDir);
+        }
+        return cachedList(filter, page, size, sortField, sortDir, countMode,
+            (criteria, pageable) -> loadPage(criteria, pageable, countMode));
+    }
+
+    /** The list with an exact total, which is always a {@link Page}. */
+    private Page<TaskResponse> listPage(TaskFilter filter, int page, int size, String sortField, String sortDir) {
+        return cachedList(filter, page, size, sortField, sortDir, CountMode.EXACT,
+            (criteria, pageable) -> new PageImpl<>(taskRepository.findSliceWithFilters(criteria, pageable).getContent(),
+                pageable, countStrategy(CountMode.EXACT).count(criteria)));
+    }
+
+    private <T extends Slice<TaskResponse>> T cachedList(TaskFilter filter, int page, int size, String sortField,
+                                                         String sortDir, CountMode countMode,
+                                                         BiFunction<TaskFilter, Pageable, T> loader) {
+        String field = sortField != null && !sortField.isBlank() ? sortField : "createdAt";
+        boolean ascending = sortField != null && !sortField.isBlank() && !"desc".equalsIgnoreCase(sortDir);
+        TaskFilter criteria = filter != null ? filter : new TaskFilter();
+        Pageable pageable = PageRequest.of(page, size, ascending ? Sort.by(field).ascending() : Sort.by(field).descending());
+        return listCache.list(criteria, field, ascending, page, size, countMode,
+            () -> readOnly(() -> loader.apply(criteria, pageable)));
+    }
+
+    private <T> T readOnly(Supplier<T> read) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template.execute(status -> read.get());
+    }
+
+    private Slice<TaskResponse> loadPage(TaskFilter criteria, Pageable pageable, CountMode countMode) {
+        Slice<TaskResponse> slice = taskRepository.findSliceWithFilters(criteria, pageable);
+        Long total = countStrategy(countMode).count(criteria);
+        if (total == null) {
+            return slice;
+        }
+        if (countMode == CountMode.ESTIMATE && slice.hasContent()) {
+            // Keep the estimate consistent with what this page saw: above the rows already seen while
+            // there is a next page, exact once the probe shows this is the last one
+            long seen = pageable.getOffset() + slice.getNumberOfElements();
+            total = slice.hasNext() ? Math.max(total, seen + 1) : seen;
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * Keyset-paginated list. A non-blank cursor carries its own sort, so sortField/sortDir only apply
+     * to the first page; a sortField sent along with a cursor must be the cursor's.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> listByCursor(TaskFilter filter, String cursor, int size,
+                                                 String sortField, String sortDir) {
+        return listByCursor(filter, cursor, size, sortField, sortDir, CountMode.EXACT);
     }
 
-    /** Cached list for common filter combo (no filters, first page). */
     @Transactional(readOnly = true)
-    @Cacheable(value = TASK_LIST_CACHE, key = "'default'")
-    public Page<TaskResponse> listCachedDefault(int page, int size) {
-        return list(null, null, null, null, null, null, null, page, size, "createdAt", "desc");
+    public CursorPage<TaskResponse> listByCursor(TaskFilter filter, String cursor, int size,
+                                                 String sortField, String sortDir, CountMode countMode) {
+        TaskCursor position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                position = TaskCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            if (sortField != null && !sortField.isBlank() && !sortField.equals(position.getSortField())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor was issued for sort " + position.getSortField() + ", not " + sortField);
+            }
+        }
+        String field = position != null ? position.getSortField()
+            : (sortField != null && !sortField.isBlank() ? sortField : "createdAt");
+        boolean ascending = position != null ? position.isAscending() : !"desc".equalsIgnoreCase(sortDir);
+        TaskFilter criteria = filter != null ? filter : new TaskFilter();
+        return taskRepository.findAllWithFiltersAfter(criteria, field, ascending, position, size)
+            .withTotalElements(countStrategy(countMode).count(criteria));
     }
 
     @Transactional(readOnly = true)
@@ -149,25 +344,205 @@ public class TaskService {
             .map(taskMapper::toEventResponse);
     }
 
-    @Transactional
-    @CacheEvict(value = { TASK_CACHE, TASK_LIST_CACHE }, allEntries = true)
-    public List<TaskResponse> bulkCreate(List<TaskRequest> requests) {
-        List<TaskResponse> result = new ArrayList<>();
-        for (TaskRequest req : requests) {
-            Task task = taskMapper.toEntity(req);
-            task.setStatus(req.getStatus() != null ? req.getStatus() : TaskStatus.TODO);
-            task.setPriority(req.getPriority() != null ? req.getPriority() : TaskPriority.MEDIUM);
-            task.setTags(req.getTags() != null ? new ArrayList<>(req.getTags()) : new ArrayList<>());
-            task = taskRepository.save(task);
-            taskEventPublisher.publish(task, TaskEventType.CREATED, toPayload(task));
-            result.add(taskMapper.toResponse(task));
+    /**
+     * Creates each valid request and reports every item separately. Validation runs before any
+     * transaction is opened; valid items are then inserted in one transaction as JDBC batches (tasks and
+     * tags) plus one outbox insert for their CREATED events. If that transaction fails, items are retried
+     * one per transaction so the failing ones can be reported without losing the rest.
+     */
+    public List<BulkItemResult> bulkCreate(List<TaskRequest> requests) {
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = requestValidator.validate(requests.get(i));
+            if (error != null) {
+                results[i] = BulkItemResult.failed(i, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        if (!valid.isEmpty()) {
+            taskEventPublisher.awaitCapacity();
+            try {
+                List<TaskResponse> created = transactionTemplate.execute(
+                    status -> insertBatch(valid.stream().map(requests::get).toList()));
+                for (int j = 0; j < valid.size(); j++) {
+                    results[valid.get(j)] = BulkItemResult.created(valid.get(j), created.get(j));
+                }
+            } catch (RuntimeException batchFailure) {
+                log.warn("Bulk create batch failed, retrying {} items individually", valid.size(), batchFailure);
+                for (int i : valid) {
+                    try {
+                        TaskResponse created = transactionTemplate.execute(
+                            status -> insertBatch(List.of(requests.get(i))).get(0));
+                        results[i] = BulkItemResult.created(i, created);
+                    } catch (RuntimeException e) {
+                        results[i] = BulkItemResult.failed(i, rootMessage(e));
+                    }
+                }
+            }
         }
-        return result;
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Persists tasks, which Hibernate flushes as batched inserts at commit, and records their CREATED
+     * events with a single outbox INSERT.
+     */
+    private List<TaskResponse> insertBatch(List<TaskRequest> requests) {
+        List<Task> tasks = taskRepository.saveAll(requests.stream().map(this::newTask).toList());
+        taskEventPublisher.publishAll(TaskEventType.CREATED, tasks.stream().map(Task::getId).toList(),
+            tasks.stream().map(task -> toPayload(task)).toList());
+        List<TaskResponse> created = tasks.stream().map(taskMapper::toResponse).toList();
+        listCache.invalidate(created);
+        return created;
+    }
+
+    private Task newTask(TaskRequest request) {
+        Task task = taskMapper.toEntity(request);
+        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO);
+        task.setPriority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM);
+        task.setTags(request.getTags() != null ? new ArrayList<>(request.getTags()) : new ArrayList<>());
+        return task;
+    }
+
+    private static <T> T applied(UpdateResult<T> result, UUID id) {
+        return switch (result.getOutcome()) {
+            case APPLIED -> result.getValue();
+            case NOT_FOUND -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id);
+            case VERSION_CONFLICT -> throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified by another request");
+        };
+    }
+
+    private static void putIfPresent(Map<String, Object> columns, String column, Object value) {
+        if (value != null) {
+            columns.put(column, value);
+        }
+    }
+
+    /** Id to expected version (null = any) for id mode, or null when the request selects by filter. */
+    private static Map<UUID, Long> bulkTargets(List<UUID> ids, Map<UUID, Long> versions, TaskFilter filter) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (byIds == (filter != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Send either ids or filter");
+        }
+        if (!byIds) {
+            return null;
+        }
+        Map<UUID, Long> targets = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            if (id != null) {
+                targets.put(id, versions != null ? versions.get(id) : null);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Runs a write in its own transaction once the event pipeline has room. The capacity check comes
+     * first, so a writer held back by the relay waits without a connection, row locks or a DB permit.
+     */
+    private <T> T writing(Supplier<T> write) {
+        taskEventPublisher.awaitCapacity();
+        return transactionTemplate.execute(status -> write.get());
+    }
+
+    private static <T> List<T> withFilter(Supplier<List<T>> bulkChange) {
+        try {
+            return bulkChange.get();
+        } catch (InvalidDataAccessApiUsageException e) {
+            // The repository rejects an empty filter rather than touching every task
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private BulkChangeResult bulkResult(Map<UUID, Long> targets, List<UUID> changed) {
+        BulkChangeResult.BulkChangeResultBuilder result = BulkChangeResult.builder()
+            .affected(changed.size())
+            .ids(changed);
+        if (targets != null) {
+            Set<UUID> missed = new LinkedHashSet<>(targets.keySet());
+            changed.forEach(missed::remove);
+            List<UUID> existing = taskRepository.findExistingIds(missed);
+            result.conflicts(missed.stream().filter(existing::contains).toList())
+                .notFound(missed.stream().filter(id -> !existing.contains(id)).toList());
+        }
+        return result.build();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private TaskCountStrategy countStrategy(CountMode mode) {
+        return countStrategies.stream()
+            .filter(strategy -> strategy.mode() == mode)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No count strategy for " + mode));
+    }
+
+    /** Lists that held the task before the update or hold it now; unwritten columns kept their value. */
+    private void invalidateLists(TaskUpdate update) {
+        TaskResponse task = update.getTask();
+        Map<String, Object> previous = update.getPreviousValues();
+        listCache.invalidate(task,
+            previous.containsKey("status") ? (String) previous.get("status") : task.getStatus().name(),
+            previous.containsKey("assignee") ? (String) previous.get("assignee") : task.getAssignee(),
+            update.getPreviousTags());
+    }
+
+    private LoadingTaskCache taskCache() {
+        return LoadingTaskCache.of(cacheManager.getCache(TASK_CACHE));
+    }
+
+    /** Per-key eviction for set-based writes; the transaction-aware cache applies it after commit. */
+    private void evictTasks(List<UUID> ids) {
+        Cache tasks = cacheManager.getCache(TASK_CACHE);
+        if (tasks != null) {
+            ids.forEach(id -> tasks.evict(id.toString()));
+        }
+    }
+
+    private String toDeltaPayload(TaskMergePatch patch, TaskUpdate update) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        TaskMergePatch.COLUMNS.forEach((field, column) -> {
+            if (patch.getColumns().containsKey(column)) {
+                Object before = update.getPreviousValues().get(column);
+                Object after = patch.getColumns().get(column);
+                Object afterValue = after instanceof Enum<?> value ? value.name() : after;
+                if (!Objects.equals(before, afterValue)) {
+                    changes.set(field, objectMapper.valueToTree(afterValue));
+                }
+            }
+        });
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("version", update.getTask().getVersion());
+        payload.set("changes", changes);
+        if (patch.getTags() != null) {
+            List<String> previous = update.getPreviousTags();
+            List<String> added = patch.getTags().stream().filter(tag -> !previous.contains(tag)).toList();
+            List<String> removed = previous.stream().filter(tag -> !patch.getTags().contains(tag)).toList();
+            if (!added.isEmpty()) {
+                payload.set("tagsAdded", objectMapper.valueToTree(added));
+            }
+            if (!removed.isEmpty()) {
+                payload.set("tagsRemoved", objectMapper.valueToTree(removed));
+            }
+        }
+        return payload.toString();
     }
 
     private String toPayload(Task task) {
+        return toPayload(taskMapper.toResponse(task));
+    }
+
+    private String toPayload(TaskResponse task) {
         try {
-            return objectMapper.writeValueAsString(taskMapper.toResponse(task));
+            return objectMapper.writeValueAsString(task);
         } catch (JsonProcessingException e) {
             return "{}";
         }
@@ -2,8 +2,11 @@ package com.taskapi.web;
 
 import com.taskapi.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,7 +27,16 @@ public class GlobalExceptionHandler {
             ex.getReason(),
             null
         );
-        return ResponseEntity.status(status).body(ApiResponse.error(error));
+        return ResponseEntity.status(status).headers(ex.getHeaders()).body(ApiResponse.error(error));
+    }
+
+    /** A transaction that could not start because its connection was refused, e.g. out of database permits. */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        if (ex.getMostSpecificCause() instanceof ResponseStatusException cause) {
+            return handleResponseStatus(cause);
+        }
+        return handleGeneric(ex);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -39,6 +51,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(error));
     }
 
+    /** The async executor is full (see {@code app.async}); the request can be retried shortly. */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Async executor rejected a task: {}", ex.getMessage());
+        ApiResponse.ErrorBody error = new ApiResponse.ErrorBody(
+            HttpStatus.SERVICE_UNAVAILABLE.name(),
+            "Server is busy; retry later",
+            null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error(error));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneric(Exception ex) {
         log.error("Unhandled error", ex);
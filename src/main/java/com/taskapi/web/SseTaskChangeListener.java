@@ -0,0 +1,47 @@
+package com.taskapi.web;
+
+import com.taskapi.domain.TaskEventType;
+import com.taskapi.service.TaskChangeFeed;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Writes a change feed subscription to an {@link SseEmitter}: the seq is the event id, the event name is
+ * the lower-case event type, and the data is JSON rendered once by the feed for all subscribers.
+ */
+final class SseTaskChangeListener implements TaskChangeFeed.Listener {
+
+    private final SseEmitter emitter;
+
+    SseTaskChangeListener(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void change(long seq, TaskEventType type, String json) throws IOException {
+        emitter.send(SseEmitter.event()
+            .id(Long.toString(seq))
+            .name(type.name().toLowerCase(Locale.ROOT))
+            .data(json));
+    }
+
+    @Override
+    public void reset(long seq) throws IOException {
+        emitter.send(SseEmitter.event()
+            .id(Long.toString(seq))
+            .name("reset")
+            .data("{\"seq\":" + seq + "}"));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskapi.web;
+
+import com.taskapi.dto.ApiResponse;
+import com.taskapi.dto.BatchGetItem;
+import com.taskapi.dto.BatchGetRequest;
+import com.taskapi.service.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batch reads. Separate from {@link TaskController} because {@code :batchGet} is a custom method on
+ * the collection, which a {@code /api/v1/tasks} class-level mapping would turn into {@code /tasks/:batchGet}.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Tag(name = "Tasks", description = "Task management API")
+public class TaskBatchGetController {
+
+    private final TaskService taskService;
+
+    @PostMapping(value = "/tasks:batchGet", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get many tasks by id",
+        description = "data holds one item per requested id, in request order, with status FOUND (and the task) "
+            + "or NOT_FOUND. Cached tasks are served from the cache; the rest are loaded with one query")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No ids or too many ids")
+    })
+    public ResponseEntity<ApiResponse<List<BatchGetItem>>> batchGet(@RequestBody @Valid BatchGetRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(taskService.getByIds(request.getIds())));
+    }
+
+    @GetMapping(value = "/tasks", params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get many tasks by id (query form)", description = "Same as POST /tasks:batchGet")
+    public ResponseEntity<ApiResponse<List<BatchGetItem>>> batchGetByQuery(
+            @Parameter(description = "Comma-separated task UUIDs") @RequestParam List<UUID> ids) {
+        return ResponseEntity.ok(ApiResponse.success(taskService.getByIds(ids)));
+    }
+}
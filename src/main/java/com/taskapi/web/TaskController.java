@@ -1,6 +1,14 @@
 package com.taskapi.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.taskapi.cache.SerializedTaskCache;
+import com.taskapi.cache.SerializedTaskCache.SerializedTask;
 import com.taskapi.dto.*;
+import com.taskapi.repository.CursorPage;
+import com.taskapi.service.TaskChangeFeed;
+import com.taskapi.service.TaskExportService;
+import com.taskapi.service.TaskImportService;
 import com.taskapi.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +19,26 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -28,8 +48,18 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final SerializedTaskCache serializedTaskCache;
+    private final TaskChangeFeed taskChangeFeed;
+
+    @Value("${app.change-feed.timeout:30m}")
+    private Duration changeFeedTimeout;
 
     public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String ND_JSON_VALUE = "application/x-ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Create a task", description = "Optionally send Idempotency-Key header for duplicate detection")
@@ -45,29 +75,71 @@ public class TaskController {
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get task by ID")
+    @Operation(summary = "Get task by ID",
+        description = "The body is rendered once per cached task version. The ETag is \"<id>-<version>\"; "
+            + "send it as If-None-Match to get 304 when the task is unchanged")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Not found")
     })
-    public ResponseEntity<ApiResponse<TaskResponse>> getById(
-            @Parameter(description = "Task UUID") @PathVariable UUID id) {
+    public ResponseEntity<byte[]> getById(
+            @Parameter(description = "Task UUID") @PathVariable UUID id,
+            WebRequest webRequest) {
         TaskResponse task = taskService.getById(id);
-        return ResponseEntity.ok(ApiResponse.success(task));
+        // The version comes from the cached DTO: an unchanged task costs neither a query nor a render
+        if (webRequest.checkNotModified(TaskETags.of(task))) {
+            return null;
+        }
+        SerializedTask body = serializedTaskCache.get(task);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(body.etag())
+            .body(body.json());
     }
 
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Full update of a task")
+    @Operation(summary = "Full update of a task",
+        description = "If-Match with the task's ETag makes the write conditional, like version in the body")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Not found"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Version conflict")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Version conflict"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "If-Match does not match")
     })
     public ResponseEntity<ApiResponse<TaskResponse>> update(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid TaskRequest request) {
-        TaskResponse updated = taskService.update(id, request);
-        return ResponseEntity.ok(ApiResponse.success(updated));
+        Long required = TaskETags.requiredVersion(id, ifMatch);
+        request.setVersion(TaskETags.expectedVersion(required, request.getVersion()));
+        TaskResponse updated = TaskETags.conditional(required, () -> taskService.update(id, request));
+        return written(updated);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Partially update a task (JSON Merge Patch)",
+        description = "Only fields present in the body are changed; null clears description, assignee or dueDate; "
+            + "tags replaces the tag set. Optional version makes the write conditional")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid patch"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Version conflict"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "If-Match does not match")
+    })
+    public ResponseEntity<ApiResponse<TaskResponse>> patch(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        Long required = TaskETags.requiredVersion(id, ifMatch);
+        if (required != null && patch instanceof ObjectNode fields) {
+            JsonNode version = fields.get("version");
+            fields.put("version", TaskETags.expectedVersion(required, version != null && version.isIntegralNumber()
+                ? Long.valueOf(version.asLong()) : null));
+        }
+        return written(TaskETags.conditional(required, () -> taskService.patch(id, patch)));
     }
 
     @PatchMapping(value = "/{id}/status", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -75,13 +147,16 @@ public class TaskController {
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Not found"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Version conflict")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Version conflict"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "If-Match does not match")
     })
     public ResponseEntity<ApiResponse<TaskResponse>> updateStatus(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid TaskStatusUpdateRequest request) {
-        TaskResponse updated = taskService.updateStatus(id, request);
-        return ResponseEntity.ok(ApiResponse.success(updated));
+        Long required = TaskETags.requiredVersion(id, ifMatch);
+        request.setVersion(TaskETags.expectedVersion(required, request.getVersion()));
+        return written(TaskETags.conditional(required, () -> taskService.updateStatus(id, request)));
     }
 
     @DeleteMapping("/{id}")
@@ -96,31 +171,121 @@ public class TaskController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "List tasks with filters, pagination and sort")
+    @Operation(summary = "List tasks with filters, pagination and sort",
+        description = "status, priority, assignee and tag accept comma-separated values (match any; "
+            + "tagMatch=all requires every tag). Send cursor (empty for the first page) to page by keyset "
+            + "instead of page number; follow meta.nextCursor / meta.prevCursor from then on")
     public ResponseEntity<ApiResponse<List<TaskResponse>>> list(
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority,
-            @RequestParam(required = false) String assignee,
-            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<String> assignee,
+            @RequestParam(required = false) List<String> tag,
+            @Parameter(description = "any (default) or all")
+            @RequestParam(defaultValue = "any") String tagMatch,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueBefore,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueAfter,
             @RequestParam(required = false) String textSearch,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
-        org.springframework.data.domain.Page<TaskResponse> result = taskService.list(
-            status, priority, assignee, tag, dueBefore, dueAfter, textSearch,
-            page, size, sort, direction);
-        PageMeta meta = PageMeta.builder()
+            @Parameter(description = "Sort property, createdAt by default; with a cursor it must be the cursor's")
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "Keyset cursor; empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count: exact (default), estimate (planner estimate) or none")
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest webRequest) {
+        CountMode countMode = parseCountMode(count);
+        TaskFilter filter = filter(status, priority, assignee, tag, tagMatch, dueBefore, dueAfter, textSearch);
+        if (cursor != null) {
+            CursorPage<TaskResponse> slice = taskService.listByCursor(filter, cursor, size, sort, direction, countMode);
+            Long total = slice.getTotalElements();
+            PageMeta meta = PageMeta.builder()
+                .size(slice.getSize())
+                .totalElements(total)
+                .totalPages(total != null ? (int) ((total + slice.getSize() - 1) / slice.getSize()) : null)
+                .countMode(countMode.name().toLowerCase(Locale.ROOT))
+                .first(slice.getPrevCursor() == null)
+                .last(slice.getNextCursor() == null)
+                .nextCursor(slice.getNextCursor())
+                .prevCursor(slice.getPrevCursor())
+                .build();
+            return page(slice.getContent(), meta, webRequest);
+        }
+        Slice<TaskResponse> result = taskService.list(filter, page, size, sort != null ? sort : "createdAt", direction,
+            countMode);
+        PageMeta.PageMetaBuilder meta = PageMeta.builder()
             .page(result.getNumber())
             .size(result.getSize())
-            .totalElements(result.getTotalElements())
-            .totalPages(result.getTotalPages())
+            .countMode(countMode.name().toLowerCase(Locale.ROOT))
             .first(result.isFirst())
-            .last(result.isLast())
-            .build();
-        return ResponseEntity.ok(ApiResponse.success(result.getContent(), meta));
+            .last(!result.hasNext());
+        if (result instanceof Page<TaskResponse> counted) {
+            meta.totalElements(counted.getTotalElements()).totalPages(counted.getTotalPages());
+        }
+        return page(result.getContent(), meta.build(), webRequest);
+    }
+
+    @GetMapping(value = "/export", produces = { ND_JSON_VALUE, TEXT_CSV_VALUE })
+    @Operation(summary = "Export all matching tasks",
+        description = "Same filters and sort as the list endpoint, without paging. Rows are streamed from a "
+            + "database cursor as NDJSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<String> assignee,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(defaultValue = "any") String tagMatch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueAfter,
+            @RequestParam(required = false) String textSearch,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = parseExportFormat(format);
+        TaskFilter filter = filter(status, priority, assignee, tag, tagMatch, dueBefore, dueAfter, textSearch);
+        StreamingResponseBody body = out -> taskExportService.export(filter, sort, direction, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat == ExportFormat.CSV ? TEXT_CSV_VALUE : ND_JSON_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks."
+                + exportFormat.name().toLowerCase(Locale.ROOT) + "\"")
+            .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes (Server-Sent Events)",
+        description = "Same filters as the list endpoint. Pushes created, updated, status_changed and deleted "
+            + "events as they commit; each event id is an increasing sequence number. The task in an event is "
+            + "a current snapshot taken when the event is sent, so it may already include later changes "
+            + "(deleted: the last state before the delete). Reconnect with "
+            + "Last-Event-ID (or lastEventId) to resume without gaps; a reset event means the position is too "
+            + "old to replay and the list should be reloaded")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Event stream"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many subscribers")
+    })
+    public SseEmitter stream(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<String> assignee,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(defaultValue = "any") String tagMatch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dueAfter,
+            @RequestParam(required = false) String textSearch,
+            @Parameter(description = "Sequence number to resume after, for clients that cannot send Last-Event-ID")
+            @RequestParam(required = false) Long lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        TaskFilter filter = filter(status, priority, assignee, tag, tagMatch, dueBefore, dueAfter, textSearch);
+        SseEmitter emitter = new SseEmitter(changeFeedTimeout.toMillis());
+        TaskChangeFeed.Subscription subscription = taskChangeFeed.subscribe(filter,
+            lastEventIdHeader != null ? parseLastEventId(lastEventIdHeader) : lastEventId,
+            new SseTaskChangeListener(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
     }
 
     @GetMapping(value = "/{id}/events", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -133,7 +298,7 @@ public class TaskController {
             @PathVariable UUID id,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        org.springframework.data.domain.Page<TaskEventResponse> result = taskService.getEvents(id, page, size);
+        Page<TaskEventResponse> result = taskService.getEvents(id, page, size);
         PageMeta meta = PageMeta.builder()
             .page(result.getNumber())
             .size(result.getSize())
@@ -146,13 +311,114 @@ public class TaskController {
     }
 
     @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Create multiple tasks")
+    @Operation(summary = "Create multiple tasks",
+        description = "Each item is validated and created independently; data holds one result per item, "
+            + "in request order")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Created"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "All items created"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "207", description = "Some items failed")
     })
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> bulkCreate(@RequestBody @Valid List<TaskRequest> requests) {
-        List<TaskResponse> created = taskService.bulkCreate(requests);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(created));
+    public ResponseEntity<ApiResponse<List<BulkItemResult>>> bulkCreate(@RequestBody List<TaskRequest> requests) {
+        List<BulkItemResult> results = taskService.bulkCreate(requests);
+        boolean allCreated = results.stream().allMatch(r -> r.getStatus() == BulkItemResult.Status.CREATED);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+            .body(ApiResponse.success(results));
+    }
+
+    @PatchMapping(value = "/bulk/status", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Change the status of many tasks",
+        description = "Select tasks by ids (optionally with expected versions) or by a list filter; "
+            + "runs as one UPDATE")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of ids and filter")
+    })
+    public ResponseEntity<ApiResponse<BulkChangeResult>> bulkUpdateStatus(
+            @RequestBody @Valid BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(taskService.bulkUpdateStatus(request)));
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Delete many tasks",
+        description = "Select tasks by ids (optionally with expected versions) or by a list filter; "
+            + "runs as one DELETE")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "OK"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of ids and filter")
+    })
+    public ResponseEntity<ApiResponse<BulkChangeResult>> bulkDelete(@RequestBody BulkDeleteRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(taskService.bulkDelete(request)));
+    }
+
+    @PostMapping(value = "/import", consumes = ND_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import tasks from NDJSON",
+        description = "One TaskRequest JSON object per line. Valid lines are loaded with COPY in chunks; "
+            + "invalid lines are skipped and reported with their line number")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import finished"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "A chunk could not be loaded")
+    })
+    public ResponseEntity<ApiResponse<ImportResult>> importTasks(InputStream body) throws IOException {
+        return ResponseEntity.ok(ApiResponse.success(taskImportService.importNdjson(body)));
+    }
+
+    /** A list page, or 304 when If-None-Match names the same ids, versions and meta. */
+    private static ResponseEntity<ApiResponse<List<TaskResponse>>> page(List<TaskResponse> tasks, PageMeta meta,
+                                                                        WebRequest webRequest) {
+        if (webRequest.checkNotModified(TaskETags.of(tasks, meta))) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.success(tasks, meta));
+    }
+
+    private static ResponseEntity<ApiResponse<TaskResponse>> written(TaskResponse task) {
+        return ResponseEntity.ok().eTag(TaskETags.of(task)).body(ApiResponse.success(task));
+    }
+
+    private static TaskFilter filter(List<String> status, List<String> priority, List<String> assignee,
+                                     List<String> tag, String tagMatch, Instant dueBefore, Instant dueAfter,
+                                     String textSearch) {
+        return TaskFilter.builder()
+            .statuses(status)
+            .priorities(priority)
+            .assignees(assignee)
+            .tags(tag)
+            .tagMatch(parseTagMatch(tagMatch))
+            .dueBefore(dueBefore)
+            .dueAfter(dueAfter)
+            .textSearch(textSearch)
+            .build();
+    }
+
+    private static ExportFormat parseExportFormat(String value) {
+        try {
+            return ExportFormat.from(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be 'ndjson' or 'csv'");
+        }
+    }
+
+    private static CountMode parseCountMode(String value) {
+        try {
+            return CountMode.from(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count must be 'exact', 'estimate' or 'none'");
+        }
+    }
+
+    private static Long parseLastEventId(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID must be a sequence number");
+        }
+    }
+
+    private static TaskFilter.TagMatch parseTagMatch(String value) {
+        try {
+            return TaskFilter.TagMatch.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tagMatch must be 'any' or 'all'");
+        }
     }
 }
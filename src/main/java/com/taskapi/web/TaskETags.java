@@ -0,0 +1,87 @@
+package com.taskapi.web;
+
+import com.taskapi.cache.SerializedTaskCache;
+import com.taskapi.dto.PageMeta;
+import com.taskapi.dto.TaskResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags built from task versions. Every write bumps {@code version}, so a task's tag is
+ * {@code "<id>-<version>"} and a list page's tag is a digest of the ids and versions on the page plus
+ * its meta; both are known before the body is rendered, which lets {@code If-None-Match} be answered
+ * without serializing anything.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(TaskResponse task) {
+        return SerializedTaskCache.etag(task);
+    }
+
+    static String of(List<TaskResponse> tasks, PageMeta meta) {
+        StringBuilder state = new StringBuilder(tasks.size() * 40 + 128);
+        for (TaskResponse task : tasks) {
+            state.append(task.getId()).append(':').append(task.getVersion()).append(';');
+        }
+        state.append(meta);
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires of task {@code id}, or null when the header is
+     * absent or {@code *}. Only one of this API's strong tags is accepted: a weak tag never matches
+     * under the strong comparison {@code If-Match} uses, and a tag of another task cannot match either,
+     * so both fail the precondition.
+     */
+    static Long requiredVersion(UUID id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must name a single ETag");
+        }
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw preconditionFailed();
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw preconditionFailed();
+        }
+    }
+
+    /** The expected version from If-Match and from the body must agree when both are given. */
+    static Long expectedVersion(Long required, Long fromBody) {
+        if (required != null && fromBody != null && !required.equals(fromBody)) {
+            throw preconditionFailed();
+        }
+        return required != null ? required : fromBody;
+    }
+
+    /** Runs a write whose version check came from If-Match, reporting a lost race as 412 rather than 409. */
+    static <T> T conditional(Long required, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (ResponseStatusException e) {
+            if (required != null && e.getStatusCode() == HttpStatus.CONFLICT) {
+                throw preconditionFailed();
+            }
+            throw e;
+        }
+    }
+
+    private static ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current task version");
+    }
+}
@@ -0,0 +1,14 @@
+-- Keyset (cursor) pagination: every sortable column paired with id as tiebreaker, so
+-- "WHERE (sort_col, id) > (?, ?) ORDER BY sort_col, id LIMIT n" is a bounded index range scan
+-- in either direction instead of an OFFSET that reads and discards all earlier rows.
+CREATE INDEX idx_tasks_title_id ON tasks(title, id);
+CREATE INDEX idx_tasks_status_id ON tasks(status, id);
+CREATE INDEX idx_tasks_priority_id ON tasks(priority, id);
+CREATE INDEX idx_tasks_due_date_id ON tasks(due_date, id);
+CREATE INDEX idx_tasks_assignee_id ON tasks(assignee, id);
+CREATE INDEX idx_tasks_created_at_id ON tasks(created_at, id);
+CREATE INDEX idx_tasks_updated_at_id ON tasks(updated_at, id);
+
+-- Each pair above starts with the column of a V1 single-column index, which can serve every lookup the
+-- old index did; drop the old ones so writes maintain one index per column, not two.
+DROP INDEX IF EXISTS idx_tasks_status, idx_tasks_priority, idx_tasks_assignee, idx_tasks_due_date, idx_tasks_created_at;
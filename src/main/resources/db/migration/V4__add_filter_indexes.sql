@@ -0,0 +1,19 @@
+-- Composite and partial indexes for the list filter combinations we see most often. The list query
+-- only emits predicates for supplied filters, so each combination is planned against these directly.
+
+-- status filter with the default sort (created_at DESC): ordered range scan, no sort step
+CREATE INDEX idx_tasks_status_created_at ON tasks(status, created_at DESC, id DESC);
+
+-- "my tasks", optionally narrowed by status: assignee = ? [AND status = ANY(?)] ORDER BY created_at
+CREATE INDEX idx_tasks_assignee_status_created_at ON tasks(assignee, status, created_at DESC);
+
+-- Open work ordered/filtered by due date; closed tasks never enter the index
+CREATE INDEX idx_tasks_open_due_date ON tasks(due_date, id)
+    WHERE status IN ('TODO', 'IN_PROGRESS');
+
+-- Tag filters look up task ids by tag: (tag, task_id) allows index-only scans for both the
+-- EXISTS (any) and GROUP BY/HAVING (all) forms. It supersedes the single-column tag index, and
+-- idx_task_tags_task_id duplicates the (task_id, tag) primary key.
+CREATE INDEX idx_task_tags_tag_task_id ON task_tags(tag, task_id);
+DROP INDEX IF EXISTS idx_task_tags_tag;
+DROP INDEX IF EXISTS idx_task_tags_task_id;
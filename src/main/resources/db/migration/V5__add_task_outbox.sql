@@ -0,0 +1,11 @@
+-- Transactional outbox: task events are written here in the same transaction as the task change and
+-- moved to their sinks (task_events, the worker) by TaskOutboxRelay. The bigserial id gives the relay
+-- its delivery order; event_id becomes the task_events primary key, so a redelivered batch is a no-op.
+CREATE TABLE task_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL DEFAULT gen_random_uuid(),
+    task_id UUID NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
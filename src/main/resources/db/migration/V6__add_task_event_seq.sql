@@ -0,0 +1,6 @@
+-- Change feed: seq orders task_events for GET /tasks/stream and is the SSE event id clients resume from.
+-- Writers take an advisory transaction lock before inserting (TaskEventRepositoryImpl), so seq values
+-- become visible in increasing order and a reader that has seen seq n will never later find a row below n.
+ALTER TABLE task_events ADD COLUMN seq BIGSERIAL;
+
+CREATE UNIQUE INDEX idx_task_events_seq ON task_events(seq);
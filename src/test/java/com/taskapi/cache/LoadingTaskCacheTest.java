@@ -0,0 +1,172 @@
+package com.taskapi.cache;
+
+import com.taskapi.dto.TaskResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadingTaskCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ExecutorService readers = Executors.newFixedThreadPool(8);
+    private final ExecutorService loaderThreads = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        readers.shutdownNow();
+        loaderThreads.shutdownNow();
+    }
+
+    @Test
+    void concurrent_misses_share_one_load() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        LoadingTaskCache cache = cache(key -> {
+            loads.incrementAndGet();
+            await(release);
+            return task(key, "loaded");
+        }, loaderThreads);
+
+        List<Future<TaskResponse>> reads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            reads.add(readers.submit(() -> cache.getTask(id)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<TaskResponse> read : reads) {
+            assertThat(read.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("loaded");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failed_load_serves_last_known_copy_within_bound() {
+        UUID id = UUID.randomUUID();
+        AtomicBoolean down = new AtomicBoolean();
+        LoadingTaskCache cache = cache(key -> {
+            if (down.get()) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            return task(key, "v1");
+        }, Runnable::run);
+
+        assertThat(cache.getTask(id).getTitle()).isEqualTo("v1");
+        down.set(true);
+        advance(Duration.ofMinutes(6)); // past expireAfterWrite, so the next read must load
+
+        assertThat(cache.getTask(id).getTitle()).isEqualTo("v1");
+        assertThat(meterRegistry.get("cache.stale.served").counter().count()).isEqualTo(1);
+
+        advance(Duration.ofMinutes(15)); // past the stale-if-error bound
+        assertThatThrownBy(() -> cache.getTask(id)).isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void load_started_before_eviction_does_not_leave_last_known_copy() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean down = new AtomicBoolean();
+        LoadingTaskCache cache = cache(key -> {
+            if (down.get()) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            await(release);
+            return task(key, "before eviction");
+        }, loaderThreads);
+
+        Future<TaskResponse> read = readers.submit(() -> cache.getTask(id));
+        Thread.sleep(100);
+        cache.evictLocal(id.toString());
+        release.countDown();
+        read.get(5, TimeUnit.SECONDS);
+
+        down.set(true);
+        assertThatThrownBy(() -> cache.getTask(id)).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(meterRegistry.get("cache.stale.served").counter().count()).isZero();
+    }
+
+    @Test
+    void read_after_refresh_interval_is_answered_while_reloading_in_background() {
+        UUID id = UUID.randomUUID();
+        Queue<Runnable> background = new ConcurrentLinkedQueue<>();
+        LoadingTaskCache cache = cache(key -> task(key, "v" + (loads.incrementAndGet() + 1)), background::add);
+        cache.put(id.toString(), task(id, "v1"));
+        advance(Duration.ofMinutes(4).plusSeconds(1));
+
+        // The read that notices the old entry gets it right away; the reload has only been scheduled
+        assertThat(cache.getTask(id).getTitle()).isEqualTo("v1");
+        assertThat(loads).hasValue(0);
+
+        background.forEach(Runnable::run);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getTask(id).getTitle()).isEqualTo("v2");
+    }
+
+    @Test
+    void tasks_evicted_for_size_are_promoted_back_from_off_heap() {
+        OffHeapTaskStore offHeap = new OffHeapTaskStore("tasks", 1 << 20, 1000, 1, Duration.ofMinutes(30),
+            meterRegistry, nanos::get);
+        LoadingTaskCache cache = new LoadingTaskCache("tasks", 10, Duration.ofMinutes(5), Duration.ofMinutes(4),
+            Duration.ofMinutes(15), () -> key -> task(key, "v" + loads.incrementAndGet()), offHeap, null,
+            Runnable::run, meterRegistry, Tags.empty(), nanos::get);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(UUID.randomUUID());
+            cache.getTask(ids.get(i));
+        }
+        assertThat(offHeap.size()).isPositive();
+
+        ids.forEach(cache::getTask);
+        assertThat(loads).hasValue(50);
+
+        // A write replaces the off-heap copy's value, so the copy must go
+        UUID spilled = ids.stream().filter(id -> offHeap.get(id.toString()) != null).findFirst().orElseThrow();
+        cache.put(spilled.toString(), task(spilled, "written"));
+        assertThat(offHeap.get(spilled.toString())).isNull();
+    }
+
+    private LoadingTaskCache cache(TaskCacheLoader loader, Executor executor) {
+        return new LoadingTaskCache("tasks", 100, Duration.ofMinutes(5), Duration.ofMinutes(4),
+            Duration.ofMinutes(15), () -> loader, null, null, executor, meterRegistry, Tags.empty(), nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static TaskResponse task(UUID id, String title) {
+        return TaskResponse.builder().id(id).title(title).tags(List.of()).version(0L).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskapi.cache;
+
+import com.taskapi.dto.TaskResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapTaskStoreTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void matches_a_map_under_random_puts_and_removes() {
+        // Few slots per segment, so probe runs are long and removals shift entries back
+        OffHeapTaskStore store = store(8 << 20, 4000, 4);
+        Map<UUID, TaskResponse> model = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    TaskResponse task = task(id, "t" + i);
+                    store.putIfAbsent(id.toString(), task);
+                    model.putIfAbsent(id, task);
+                }
+                case 1 -> {
+                    store.remove(id.toString());
+                    model.remove(id);
+                }
+                default -> assertThat(store.get(id.toString())).isEqualTo(model.get(id));
+            }
+        }
+        for (UUID id : ids) {
+            assertThat(store.get(id.toString())).isEqualTo(model.get(id));
+        }
+        assertThat(store.size()).isEqualTo(model.size());
+    }
+
+    @Test
+    void stays_within_byte_budget_and_keeps_referenced_tasks() {
+        OffHeapTaskStore store = store(64 << 10, 10_000, 1);
+        List<UUID> hot = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID id = UUID.randomUUID();
+            hot.add(id);
+            store.putIfAbsent(id.toString(), task(id, "hot"));
+        }
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            store.putIfAbsent(id.toString(), task(id, "cold " + "x".repeat(i % 300)));
+            hot.forEach(h -> assertThat(store.get(h.toString())).as("hot task %s", h).isNotNull());
+        }
+
+        assertThat(store.liveBytes()).isLessThanOrEqualTo(64 << 10);
+        assertThat(store.size()).isLessThan(5020);
+        assertThat(meterRegistry.get("cache.offheap.evictions").counter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.tier.gets").tag("tier", "offheap").tag("result", "hit").counter().count())
+            .isEqualTo(20 * 5000);
+    }
+
+    @Test
+    void expired_records_are_misses() {
+        OffHeapTaskStore store = store(1 << 20, 1000, 1);
+        UUID id = UUID.randomUUID();
+        store.putIfAbsent(id.toString(), task(id, "old"));
+        nanos.addAndGet(Duration.ofMinutes(31).toNanos());
+
+        assertThat(store.get(id.toString())).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    private OffHeapTaskStore store(long capacity, long maxEntries, int segments) {
+        return new OffHeapTaskStore("tasks", capacity, maxEntries, segments, Duration.ofMinutes(30),
+            meterRegistry, nanos::get);
+    }
+
+    private static TaskResponse task(UUID id, String title) {
+        return TaskResponse.builder().id(id).title(title).tags(List.of("a", "b")).version(1L).build();
+    }
+}
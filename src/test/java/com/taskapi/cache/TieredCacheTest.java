@@ -0,0 +1,164 @@
+package com.taskapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskapi.domain.TaskPriority;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskRequest;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.cache.type=redis",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Testcontainers
+class TieredCacheTest {
+
+    private static final String FIND_BY_ID = "SELECT t FROM Task t LEFT JOIN FETCH t.tags WHERE t.id = :id";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void codec_round_trips_and_is_smaller_than_json() throws Exception {
+        TaskResponse task = TaskResponse.builder()
+            .id(UUID.randomUUID())
+            .title("Ship the tiered cache")
+            .description(null)
+            .status(TaskStatus.IN_PROGRESS)
+            .priority(TaskPriority.HIGH)
+            .dueDate(Instant.now().plus(3, ChronoUnit.DAYS))
+            .assignee("alice")
+            .tags(List.of("backend", "cache"))
+            .version(4L)
+            .createdAt(Instant.now())
+            .updatedAt(Instant.now())
+            .build();
+
+        byte[] encoded = TaskResponseCodec.encode(task);
+        assertThat(TaskResponseCodec.decode(encoded)).isEqualTo(task);
+        assertThat(encoded.length).isLessThan(objectMapper.writeValueAsBytes(task).length);
+        assertThat(TaskResponseCodec.decode(new byte[] { 0 })).isNull();
+    }
+
+    @Test
+    void cold_l1_is_filled_from_l2_without_a_query() {
+        TaskResponse created = taskService.create(TaskRequest.builder().title("Warm").tags(List.of("x")).build(), null);
+        // A fresh node: nothing in L1, but the write-through put reached Redis
+        tieredCache().clearLocal();
+
+        long queriesBefore = findByIdQueries().getExecutionCount();
+        double l2HitsBefore = tierGets("l2", "hit");
+        TaskResponse read = taskService.getById(created.getId());
+
+        assertThat(read.getTitle()).isEqualTo("Warm");
+        assertThat(read.getTags()).containsExactly("x");
+        assertThat(tierGets("l2", "hit") - l2HitsBefore).isEqualTo(1);
+        assertThat(findByIdQueries().getExecutionCount()).isEqualTo(queriesBefore);
+
+        taskService.getById(created.getId());
+        assertThat(tierGets("l1", "hit")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void concurrent_misses_load_once() throws Exception {
+        TaskResponse created = taskService.create(TaskRequest.builder().title("Stampede").build(), null);
+        tieredCache().evict(created.getId().toString());
+        long queriesBefore = findByIdQueries().getExecutionCount();
+
+        int callers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<TaskResponse>> reads = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    return taskService.getById(created.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<TaskResponse> read : reads) {
+                assertThat(read.get().getId()).isEqualTo(created.getId());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(findByIdQueries().getExecutionCount() - queriesBefore).isEqualTo(1);
+    }
+
+    private LoadingTaskCache tieredCache() {
+        return (LoadingTaskCache) ((TransactionAwareCacheDecorator) cacheManager.getCache("tasks")).getTargetCache();
+    }
+
+    private QueryStatistics findByIdQueries() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getQueryStatistics(FIND_BY_ID);
+    }
+
+    /** L1 counts are function counters over Caffeine's stats, L2 counts plain counters. */
+    private double tierGets(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets").tag("cache", "tasks").tag("tier", tier).tag("result", result)
+            .meter().measure().iterator().next().getValue();
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** One database permit of each kind, held by the test, so every request or background thread has to wait for it. */
+@SpringBootTest(properties = {
+    "app.db-permits.max-concurrent=1",
+    "app.db-permits.acquire-timeout=200ms",
+    "app.db-permits.background-max=1",
+    "app.outbox.relay.enabled=false",
+    "app.change-feed.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+class DbPermitLimiterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final String API_KEY = "test-api-key";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    DbPermitLimiter limiter;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void requests_fail_fast_with_503_while_no_permit_is_free() throws Exception {
+        limiter.acquire();
+        try {
+            assertThat(meterRegistry.get("db.permits.active").gauge().value()).isEqualTo(1);
+
+            // Threads outside a request, like the outbox relay, use the background permits
+            assertThat(connectInBackground().get(5, TimeUnit.SECONDS)).isTrue();
+
+            mockMvc.perform(post("/api/v1/tasks")
+                    .header("X-API-Key", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Waits for a permit\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error.code").value("SERVICE_UNAVAILABLE"));
+            assertThat(meterRegistry.get("db.permits.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            limiter.release();
+        }
+
+        mockMvc.perform(post("/api/v1/tasks")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Gets a permit\"}"))
+            .andExpect(status().isCreated());
+        // Closing the request's connection returned its permit
+        assertThat(meterRegistry.get("db.permits.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void background_threads_wait_for_a_background_permit_instead_of_failing() throws Exception {
+        assertThat(limiter.acquireBackground()).isTrue();
+        CompletableFuture<Boolean> background;
+        try {
+            background = connectInBackground();
+            assertThatThrownBy(() -> background.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            assertThat(meterRegistry.get("db.permits.background.waiting").gauge().value()).isEqualTo(1);
+
+            // Requests have their own permits and are not held up by background work
+            mockMvc.perform(post("/api/v1/tasks")
+                    .header("X-API-Key", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Not behind background work\"}"))
+                .andExpect(status().isCreated());
+        } finally {
+            limiter.releaseBackground();
+        }
+        assertThat(background.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("db.permits.background.active").gauge().value()).isZero();
+    }
+
+    private CompletableFuture<Boolean> connectInBackground() {
+        CompletableFuture<Boolean> connected = new CompletableFuture<>();
+        Thread.ofPlatform().start(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connected.complete(connection.isValid(1));
+            } catch (Exception e) {
+                connected.completeExceptionally(e);
+            }
+        });
+        return connected;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -11,15 +12,21 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @ActiveProfiles("test")
 @Testcontainers
 class TaskApiIntegrationTest {
@@ -66,6 +73,136 @@ class TaskApiIntegrationTest {
             .andExpect(jsonPath("$.data.title").value("Integration task"));
     }
 
+    @Test
+    void get_by_id_reuses_rendered_body_until_the_task_changes() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/tasks")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Rendered once\",\"tags\":[\"json\"]}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).path("data").path("id").asText();
+
+        MvcResult first = mockMvc.perform(get("/api/v1/tasks/" + id).header("X-API-Key", API_KEY))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + id + "-0\""))
+            .andReturn();
+        MvcResult second = mockMvc.perform(get("/api/v1/tasks/" + id).header("X-API-Key", API_KEY))
+            .andExpect(status().isOk())
+            .andReturn();
+        // Same bytes Jackson produces for the create response, served again on the cached path
+        assertThat(first.getResponse().getContentAsString()).isEqualTo(created);
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(patch("/api/v1/tasks/" + id)
+                .header("X-API-Key", API_KEY)
+                .contentType("application/merge-patch+json")
+                .content("{\"title\":\"Rendered twice\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/tasks/" + id).header("X-API-Key", API_KEY))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + id + "-1\""))
+            .andExpect(jsonPath("$.data.title").value("Rendered twice"));
+    }
+
+    @Test
+    void version_etags_answer_conditional_requests() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/tasks")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Polled\",\"assignee\":\"etag-poller\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).path("data").path("id").asText();
+        String v0 = "\"" + id + "-0\"";
+
+        mockMvc.perform(get("/api/v1/tasks/" + id).header("X-API-Key", API_KEY).header("If-None-Match", v0))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        String listEtag = mockMvc.perform(get("/api/v1/tasks?assignee=etag-poller").header("X-API-Key", API_KEY))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/v1/tasks?assignee=etag-poller").header("X-API-Key", API_KEY)
+                .header("If-None-Match", listEtag))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/v1/tasks/" + id)
+                .header("X-API-Key", API_KEY)
+                .header("If-Match", v0)
+                .contentType("application/merge-patch+json")
+                .content("{\"title\":\"Polled again\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + id + "-1\""));
+        // The earlier tag is now stale: writes against it fail, reads get the new body
+        mockMvc.perform(patch("/api/v1/tasks/" + id + "/status")
+                .header("X-API-Key", API_KEY)
+                .header("If-Match", v0)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/v1/tasks/" + id).header("X-API-Key", API_KEY).header("If-None-Match", v0))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.title").value("Polled again"));
+        mockMvc.perform(get("/api/v1/tasks?assignee=etag-poller").header("X-API-Key", API_KEY)
+                .header("If-None-Match", listEtag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void batch_get_returns_tasks_in_request_order_with_not_found_markers() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/tasks")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"On the board\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).path("data").path("id").asText();
+        String missing = "00000000-0000-0000-0000-000000000001";
+
+        mockMvc.perform(post("/api/v1/tasks:batchGet")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[\"" + missing + "\",\"" + id + "\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].id").value(missing))
+            .andExpect(jsonPath("$.data[0].status").value("NOT_FOUND"))
+            .andExpect(jsonPath("$.data[0].task").doesNotExist())
+            .andExpect(jsonPath("$.data[1].status").value("FOUND"))
+            .andExpect(jsonPath("$.data[1].task.title").value("On the board"));
+        mockMvc.perform(get("/api/v1/tasks?ids=" + id + "," + missing).header("X-API-Key", API_KEY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].task.id").value(id))
+            .andExpect(jsonPath("$.data[1].status").value("NOT_FOUND"));
+        mockMvc.perform(post("/api/v1/tasks:batchGet")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void task_events_are_relayed_from_the_outbox_in_order() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/tasks")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Audited\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).path("data").path("id").asText();
+        mockMvc.perform(patch("/api/v1/tasks/" + id + "/status")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+            .andExpect(status().isOk());
+
+        // Newest first; created_at is when the change was recorded, not when it was relayed
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            mockMvc.perform(get("/api/v1/tasks/" + id + "/events").header("X-API-Key", API_KEY))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].type").value("STATUS_CHANGED"))
+                .andExpect(jsonPath("$.data[1].type").value("CREATED")));
+    }
+
     @Test
     void list_tasks() throws Exception {
         mockMvc.perform(get("/api/v1/tasks?page=0&size=5").header("X-API-Key", API_KEY))
@@ -74,6 +211,84 @@ class TaskApiIntegrationTest {
             .andExpect(jsonPath("$.meta").exists());
     }
 
+    @Test
+    void export_streams_ndjson_and_csv() throws Exception {
+        for (String title : new String[] { "Export A", "Export, \"B\"" }) {
+            mockMvc.perform(post("/api/v1/tasks")
+                    .header("X-API-Key", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                        java.util.Map.of("title", title, "assignee", "exporter", "tags", java.util.List.of("e1", "e2")))))
+                .andExpect(status().isCreated());
+        }
+
+        MvcResult ndjson = mockMvc.perform(get("/api/v1/tasks/export?assignee=exporter&sort=title&direction=asc")
+                .header("X-API-Key", API_KEY))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String[] lines = mockMvc.perform(asyncDispatch(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).path("title").asText()).isEqualTo("Export A");
+        assertThat(objectMapper.readTree(lines[1]).path("tags")).hasSize(2);
+
+        MvcResult csv = mockMvc.perform(get("/api/v1/tasks/export?assignee=exporter&sort=title&direction=asc&format=csv")
+                .header("X-API-Key", API_KEY))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = mockMvc.perform(asyncDispatch(csv))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        assertThat(body).startsWith("id,title,").contains(",\"Export, \"\"B\"\"\",");
+        assertThat(body.split("\r\n")).hasSize(3);
+
+        // Both exports ran on the application's async executor, which reports to Prometheus
+        String metrics = mockMvc.perform(get("/actuator/prometheus").header("X-API-Key", API_KEY))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        assertThat(metrics)
+            .contains("async_executor_active{mode=\"platform\"")
+            .contains("async_executor_queued{mode=\"platform\"")
+            .containsPattern("async_executor_execution_seconds_count\\{mode=\"platform\",?} [1-9]");
+    }
+
+    @Test
+    void import_loads_valid_lines_and_reports_invalid_ones() throws Exception {
+        String ndjson = """
+            {"title":"Imported 1","assignee":"importer","tags":["i1","i1","i2"]}
+            {"title":"","assignee":"importer"}
+
+            {"title":"Imported 2","assignee":"importer","status":"DONE","description":"has \\"quotes\\", commas"}
+            not json
+            """;
+        mockMvc.perform(post("/api/v1/tasks/import")
+                .header("X-API-Key", API_KEY)
+                .contentType("application/x-ndjson")
+                .content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.imported").value(2))
+            .andExpect(jsonPath("$.data.failed").value(2))
+            .andExpect(jsonPath("$.data.errors[0].line").value(2))
+            .andExpect(jsonPath("$.data.errors[1].line").value(5));
+
+        String listed = mockMvc.perform(get("/api/v1/tasks?assignee=importer&sort=title&direction=asc")
+                .header("X-API-Key", API_KEY))
+            .andExpect(jsonPath("$.data.length()").value(2))
+            .andExpect(jsonPath("$.data[0].tags.length()").value(2))
+            .andExpect(jsonPath("$.data[1].status").value("DONE"))
+            .andExpect(jsonPath("$.data[1].description").value("has \"quotes\", commas"))
+            .andReturn().getResponse().getContentAsString();
+
+        // CREATED events go through the outbox like any other write
+        String id = objectMapper.readTree(listed).path("data").path(0).path("id").asText();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            mockMvc.perform(get("/api/v1/tasks/" + id + "/events").header("X-API-Key", API_KEY))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].type").value("CREATED")));
+    }
+
     @Test
     void unauthorized_without_api_key() throws Exception {
         mockMvc.perform(get("/api/v1/tasks"))
@@ -0,0 +1,118 @@
+package com.taskapi.repository;
+
+import com.taskapi.dto.TaskFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the statements built by {@link TaskQueryBuilder} are planned against the filter indexes.
+ * The seed mimics production skew (most tasks closed) and sequential scans are disabled, so the
+ * assertions do not depend on the exact table size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Transactional
+class TaskQueryPlanTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+            INSERT INTO tasks (title, status, priority, assignee, due_date, created_at)
+            SELECT 'Plan ' || g,
+                   CASE g % 50 WHEN 0 THEN 'TODO' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'CANCELED' ELSE 'DONE' END,
+                   'MEDIUM',
+                   'user' || (g % 100),
+                   now() + g * interval '1 hour',
+                   now() - g * interval '1 minute'
+            FROM generate_series(1, 20000) g
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO task_tags (task_id, tag)
+            SELECT id, 'tag' || (abs(hashtext(title)) % 200) FROM tasks
+            """);
+        jdbcTemplate.execute("ANALYZE tasks");
+        jdbcTemplate.execute("ANALYZE task_tags");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void no_filters_emit_no_predicates() {
+        assertThat(TaskQueryBuilder.forFilter(TaskFilter.builder().build()).where()).isEmpty();
+        assertThat(TaskQueryBuilder.forFilter(TaskFilter.of("TODO", null, null, null, null, null, " ")).where())
+            .isEqualTo(" WHERE t.status = ?");
+    }
+
+    @Test
+    void status_with_default_sort_uses_status_created_at_index() {
+        String plan = explain(TaskFilter.builder().statuses(List.of("TODO")).build(),
+            " ORDER BY t.created_at DESC LIMIT 20");
+        assertThat(plan).contains("idx_tasks_status_created_at").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void assignee_with_multiple_statuses_uses_composite_index() {
+        String plan = explain(TaskFilter.builder()
+                .assignees(List.of("user7"))
+                .statuses(List.of("TODO", "IN_PROGRESS"))
+                .build(),
+            " ORDER BY t.created_at DESC LIMIT 20");
+        assertThat(plan).contains("idx_tasks_assignee_status_created_at").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void open_tasks_by_due_date_use_partial_index() {
+        String plan = explain(TaskFilter.builder()
+                .statuses(List.of("TODO", "IN_PROGRESS"))
+                .build(),
+            " ORDER BY t.due_date ASC, t.id ASC LIMIT 20");
+        assertThat(plan).contains("idx_tasks_open_due_date").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void tag_filters_use_tag_index() {
+        String any = explain(TaskFilter.builder().tags(List.of("tag1", "tag2")).build(), " LIMIT 20");
+        assertThat(any).contains("idx_task_tags_tag_task_id").doesNotContain("Seq Scan");
+
+        String all = explain(TaskFilter.builder().tags(List.of("tag1", "tag2"))
+            .tagMatch(TaskFilter.TagMatch.ALL).build(), " LIMIT 20");
+        assertThat(all).contains("idx_task_tags_tag_task_id").doesNotContain("Seq Scan");
+    }
+
+    private String explain(TaskFilter filter, String tail) {
+        TaskQueryBuilder q = TaskQueryBuilder.forFilter(filter);
+        List<String> lines = jdbcTemplate.queryForList(
+            "EXPLAIN SELECT " + TaskResponseRowMapper.COLUMNS + " FROM tasks t" + q.where() + tail, String.class, q.params());
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.BulkItemResult;
+import com.taskapi.dto.TaskRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts JDBC statements Hibernate prepares for a bulk create. With batching each table costs one
+ * statement per batch_size rows instead of one per row.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Testcontainers
+class BulkCreateStatementCountTest {
+
+    private static final int ITEMS = 200;
+    private static final int BATCH_SIZE = 25;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulk_create_prepares_statements_per_batch_not_per_row() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        for (TaskRequest request : requests("single")) {
+            taskService.create(request, null);
+        }
+        long oneByOne = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<BulkItemResult> results = taskService.bulkCreate(requests("bulk"));
+        long bulk = statistics.getPrepareStatementCount();
+
+        assertThat(results).allMatch(r -> r.getStatus() == BulkItemResult.Status.CREATED);
+        // tasks and task_tags: at most one statement execution per batch each; events are one outbox insert
+        long batches = (ITEMS + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertThat(bulk).isLessThanOrEqualTo(2 * batches);
+        assertThat(oneByOne).isGreaterThanOrEqualTo(2L * ITEMS);
+    }
+
+    @Test
+    void invalid_items_fail_alone() {
+        List<TaskRequest> requests = new ArrayList<>(requests("mixed").subList(0, 3));
+        requests.add(1, TaskRequest.builder().title(" ").build());
+
+        List<BulkItemResult> results = taskService.bulkCreate(requests);
+
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(
+            BulkItemResult.Status.CREATED, BulkItemResult.Status.FAILED,
+            BulkItemResult.Status.CREATED, BulkItemResult.Status.CREATED);
+        assertThat(results.get(1).getError()).startsWith("title:");
+        assertThat(results.get(2).getTask().getTitle()).isEqualTo("mixed-1");
+    }
+
+    private static List<TaskRequest> requests(String prefix) {
+        return IntStream.range(0, ITEMS)
+            .mapToObj(i -> TaskRequest.builder().title(prefix + "-" + i).tags(List.of("t" + (i % 5))).build())
+            .toList();
+    }
+}
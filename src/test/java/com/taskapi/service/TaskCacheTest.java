@@ -0,0 +1,230 @@
+package com.taskapi.service;
+
+import com.taskapi.TaskApiApplication;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.BatchGetItem;
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskRequest;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.dto.TaskStatusUpdateRequest;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Cache behaviour across committed writes, so not {@code @Transactional}: cache puts and evictions are
+ * applied on commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class TaskCacheTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @BeforeEach
+    void listenerConnected() {
+        // Connecting flushes the caches; wait for it so it cannot land in the middle of a test
+        await().atMost(Duration.ofSeconds(10)).until(invalidationBus::isListening);
+    }
+
+    @Test
+    void hit_ratio_survives_unrelated_writes() {
+        List<TaskResponse> hot = IntStream.range(0, 10)
+            .mapToObj(i -> taskService.create(TaskRequest.builder().title("Hot " + i).build(), null))
+            .toList();
+        TaskResponse other = taskService.create(TaskRequest.builder().title("Other").build(), null);
+
+        double hitsBefore = gets("hit");
+        double missesBefore = gets("miss");
+        for (int round = 0; round < 5; round++) {
+            taskService.create(TaskRequest.builder().title("Unrelated " + round).build(), null);
+            taskService.updateStatus(other.getId(), new TaskStatusUpdateRequest(
+                round % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.TODO));
+            hot.forEach(task -> taskService.getById(task.getId()));
+        }
+
+        // Created tasks were written through, so every read after unrelated writes is a hit
+        assertThat(gets("hit") - hitsBefore).isEqualTo(50);
+        assertThat(gets("miss") - missesBefore).isZero();
+    }
+
+    @Test
+    void batch_get_answers_hits_from_cache_and_caches_loaded_misses() {
+        List<TaskResponse> tasks = IntStream.range(0, 4)
+            .mapToObj(i -> taskService.create(TaskRequest.builder().title("Board " + i).tags(List.of("board")).build(), null))
+            .toList();
+        Cache cache = cacheManager.getCache(TaskService.TASK_CACHE);
+        cache.evict(tasks.get(1).getId().toString());
+        cache.evict(tasks.get(3).getId().toString());
+        UUID unknown = UUID.randomUUID();
+        List<UUID> ids = List.of(tasks.get(3).getId(), unknown, tasks.get(0).getId(), tasks.get(1).getId(), tasks.get(2).getId());
+
+        double hitsBefore = gets("hit");
+        double missesBefore = gets("miss");
+        List<BatchGetItem> items = taskService.getByIds(ids);
+
+        assertThat(items).extracting(BatchGetItem::getId).containsExactlyElementsOf(ids);
+        assertThat(items).extracting(BatchGetItem::getStatus).containsExactly(
+            BatchGetItem.Status.FOUND, BatchGetItem.Status.NOT_FOUND, BatchGetItem.Status.FOUND,
+            BatchGetItem.Status.FOUND, BatchGetItem.Status.FOUND);
+        assertThat(items.get(0).getTask().getTags()).containsExactly("board");
+        assertThat(gets("hit") - hitsBefore).isEqualTo(2);
+        assertThat(gets("miss") - missesBefore).isEqualTo(3);
+
+        // The loaded misses were put into the cache; only the unknown id misses again
+        taskService.getByIds(ids);
+        assertThat(gets("hit") - hitsBefore).isEqualTo(6);
+        assertThat(gets("miss") - missesBefore).isEqualTo(4);
+    }
+
+    @Test
+    void writes_replace_the_cached_entry() {
+        TaskResponse created = taskService.create(TaskRequest.builder().title("Fresh").build(), null);
+        TaskResponse updated = taskService.updateStatus(created.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        double missesBefore = gets("miss");
+        assertThat(taskService.getById(created.getId()).getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(taskService.getById(created.getId()).getVersion()).isEqualTo(updated.getVersion());
+        assertThat(gets("miss") - missesBefore).isZero();
+    }
+
+    @Test
+    void list_cache_is_invalidated_only_by_writes_it_depends_on() {
+        TaskResponse mine = taskService.create(TaskRequest.builder().title("Mine").assignee("list-owner").build(), null);
+        TaskFilter filter = TaskFilter.builder().assignees(List.of("list-owner")).build();
+        assertThat(taskService.list(filter, 0, 10, null, null, CountMode.EXACT).getContent()).hasSize(1);
+
+        double hitsBefore = listLookups("hit");
+        taskService.create(TaskRequest.builder().title("Elsewhere").assignee("someone-else").build(), null);
+        Slice<TaskResponse> cached = taskService.list(
+            TaskFilter.builder().assignees(List.of("list-owner", "list-owner")).build(), 0, 10, null, null, CountMode.EXACT);
+        assertThat(cached.getContent()).extracting(TaskResponse::getId).containsExactly(mine.getId());
+        assertThat(listLookups("hit") - hitsBefore).isEqualTo(1);
+
+        double staleBefore = listLookups("stale");
+        taskService.updateStatus(mine.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+        Slice<TaskResponse> reloaded = taskService.list(filter, 0, 10, null, null, CountMode.EXACT);
+        assertThat(reloaded.getContent().get(0).getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(listLookups("stale") - staleBefore).isEqualTo(1);
+    }
+
+    @Test
+    void invalidations_reach_another_node() {
+        try (ConfigurableApplicationContext otherNode = startNode()) {
+            TaskService other = otherNode.getBean(TaskService.class);
+            await().atMost(Duration.ofSeconds(10)).until(otherNode.getBean(CacheInvalidationBus.class)::isListening);
+            TaskResponse task = taskService.create(TaskRequest.builder().title("Shared").assignee("two-nodes").build(), null);
+            TaskFilter filter = TaskFilter.builder().assignees(List.of("two-nodes")).build();
+
+            // Cached on the other node, then changed on this one
+            assertThat(other.getById(task.getId()).getStatus()).isEqualTo(TaskStatus.TODO);
+            assertThat(other.list(filter, 0, 10, null, null, CountMode.EXACT).getContent()).hasSize(1);
+            taskService.updateStatus(task.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+            taskService.create(TaskRequest.builder().title("Shared 2").assignee("two-nodes").build(), null);
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                assertThat(other.getById(task.getId()).getStatus()).isEqualTo(TaskStatus.DONE);
+                assertThat(other.list(filter, 0, 10, null, null, CountMode.EXACT).getContent()).hasSize(2);
+            });
+        }
+    }
+
+    @Test
+    void restarted_node_restores_hot_tasks_from_snapshot(@TempDir Path dir) {
+        String[] snapshot = { "app.cache.snapshot.enabled=true", "app.cache.snapshot.path=" + dir.resolve("tasks.snapshot") };
+        List<TaskResponse> hot = IntStream.range(0, 20)
+            .mapToObj(i -> taskService.create(TaskRequest.builder().title("Warm " + i).build(), null))
+            .toList();
+        try (ConfigurableApplicationContext node = startNode(snapshot)) {
+            // Its connect-time flush would otherwise drop some of the reads below from the snapshot
+            await().atMost(Duration.ofSeconds(10)).until(node.getBean(CacheInvalidationBus.class)::isListening);
+            hot.forEach(task -> node.getBean(TaskService.class).getById(task.getId()));
+        }
+        assertThat(dir.resolve("tasks.snapshot")).exists();
+
+        try (ConfigurableApplicationContext restarted = startNode(snapshot)) {
+            TaskCacheWarmer warmer = restarted.getBean(TaskCacheWarmer.class);
+            await().atMost(Duration.ofSeconds(10)).until(() -> Status.UP.equals(warmer.health().getStatus()));
+            assertThat(warmer.health().getDetails()).containsEntry("restored", 20L);
+
+            FunctionCounter misses = restarted.getBean(MeterRegistry.class).get("cache.gets")
+                .tag("cache", "tasks").tag("result", "miss").functionCounter();
+            double missesBefore = misses.count();
+            hot.forEach(task -> restarted.getBean(TaskService.class).getById(task.getId()));
+            assertThat(misses.count() - missesBefore).isZero();
+        }
+    }
+
+    private ConfigurableApplicationContext startNode(String... properties) {
+        return new SpringApplicationBuilder(TaskApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword())
+            // As arguments: builder properties are defaults, which application.yml would override
+            .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    private double listLookups(String result) {
+        return meterRegistry.get("task.list.cache.lookups").tag("cache", "taskList").tag("result", result)
+            .counter().count();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", result).functionCounter().count();
+    }
+}
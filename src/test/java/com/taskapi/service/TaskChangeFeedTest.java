@@ -0,0 +1,135 @@
+package com.taskapi.service;
+
+import com.taskapi.domain.TaskEventType;
+import com.taskapi.domain.TaskStatus;
+import com.taskapi.dto.TaskFilter;
+import com.taskapi.dto.TaskRequest;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.dto.TaskStatusUpdateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/** Filtered delivery, ordering and Last-Event-ID resumption of the change feed. */
+@SpringBootTest(properties = "app.change-feed.poll-interval=50ms")
+@ActiveProfiles("test")
+@Testcontainers
+class TaskChangeFeedTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    TaskChangeFeed changeFeed;
+
+    @Autowired
+    TaskService taskService;
+
+    @Test
+    void pushes_matching_changes_in_order_and_resumes_after_last_event_id() {
+        String assignee = "feed-" + UUID.randomUUID();
+        Recorder todo = new Recorder();
+        TaskChangeFeed.Subscription subscription = changeFeed.subscribe(
+            TaskFilter.builder().statuses(List.of("TODO")).assignees(List.of(assignee)).build(), null, todo);
+
+        TaskResponse task = taskService.create(TaskRequest.builder().title("Watched").assignee(assignee).build(), null);
+        await().atMost(Duration.ofSeconds(10)).until(() -> todo.events.size() == 1);
+        taskService.create(TaskRequest.builder().title("Someone else's").assignee("other").build(), null);
+        taskService.updateStatus(task.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        // The status change is delivered although the task left the TODO view; the other task never is
+        await().atMost(Duration.ofSeconds(10)).until(() -> todo.events.size() == 2);
+        assertThat(todo.events).extracting(Event::type)
+            .containsExactly(TaskEventType.CREATED, TaskEventType.STATUS_CHANGED);
+        assertThat(todo.events).allSatisfy(event -> assertThat(event.json()).contains(task.getId().toString()));
+        assertThat(todo.events.get(1).seq()).isGreaterThan(todo.events.get(0).seq());
+        subscription.cancel();
+
+        // Resuming after the first event replays the status change from the table, then continues live
+        Recorder resumed = new Recorder();
+        changeFeed.subscribe(TaskFilter.builder().assignees(List.of(assignee)).build(),
+            todo.events.get(0).seq(), resumed);
+        await().atMost(Duration.ofSeconds(10)).until(() -> resumed.events.size() == 1);
+        assertThat(resumed.events.get(0).seq()).isEqualTo(todo.events.get(1).seq());
+
+        taskService.delete(task.getId());
+        await().atMost(Duration.ofSeconds(10)).until(() -> resumed.events.size() == 2);
+        assertThat(resumed.events.get(1).type()).isEqualTo(TaskEventType.DELETED);
+        assertThat(resumed.events.get(1).seq()).isGreaterThan(resumed.events.get(0).seq());
+    }
+
+    @Test
+    void deletes_are_matched_against_the_last_state_of_the_task() {
+        String assignee = "feed-" + UUID.randomUUID();
+        Recorder tagged = new Recorder();
+        changeFeed.subscribe(TaskFilter.builder().assignees(List.of(assignee)).tags(List.of("watched")).build(),
+            null, tagged);
+
+        TaskResponse watched = taskService.create(
+            TaskRequest.builder().title("Watched").assignee(assignee).tags(List.of("watched")).build(), null);
+        TaskResponse untagged = taskService.create(
+            TaskRequest.builder().title("Untagged").assignee(assignee).build(), null);
+        TaskResponse elsewhere = taskService.create(
+            TaskRequest.builder().title("Elsewhere").assignee("other").tags(List.of("watched")).build(), null);
+        await().atMost(Duration.ofSeconds(10)).until(() -> tagged.events.size() == 1);
+
+        taskService.delete(untagged.getId());
+        taskService.delete(elsewhere.getId());
+        taskService.delete(watched.getId());
+
+        // Both other deletes come first in seq order, so they were filtered out before this one arrived
+        await().atMost(Duration.ofSeconds(10)).until(() -> tagged.events.size() == 2);
+        assertThat(tagged.events).extracting(Event::type)
+            .containsExactly(TaskEventType.CREATED, TaskEventType.DELETED);
+        assertThat(tagged.events).allSatisfy(event -> assertThat(event.json()).contains(watched.getId().toString()));
+    }
+
+    record Event(long seq, TaskEventType type, String json) {
+    }
+
+    static class Recorder implements TaskChangeFeed.Listener {
+
+        final List<Event> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void change(long seq, TaskEventType type, String json) {
+            events.add(new Event(seq, type, json));
+        }
+
+        @Override
+        public void reset(long seq) {
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
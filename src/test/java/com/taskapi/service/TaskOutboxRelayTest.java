@@ -0,0 +1,102 @@
+package com.taskapi.service;
+
+import com.taskapi.dto.TaskRequest;
+import com.taskapi.dto.TaskResponse;
+import com.taskapi.event.TaskEventSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/** Backpressure of the event pipeline, with a sink that holds the relay until the test releases it. */
+@SpringBootTest(properties = {
+    "app.outbox.relay.max-pending=1",
+    "app.outbox.relay.overflow=block",
+    "app.outbox.relay.block-timeout=200ms"
+})
+@ActiveProfiles("test")
+@Testcontainers
+class TaskOutboxRelayTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    static final CountDownLatch SINK_RELEASED = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class StalledSink {
+
+        @Bean
+        TaskEventSink stalledSink() {
+            return events -> {
+                try {
+                    SINK_RELEASED.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void release() {
+        SINK_RELEASED.countDown();
+    }
+
+    @Test
+    void writes_wait_for_the_relay_and_fail_with_503_when_it_stays_behind() {
+        TaskResponse first = taskService.create(TaskRequest.builder().title("Queued").build(), null);
+        assertThat(pending()).isEqualTo(1);
+
+        assertThatThrownBy(() -> taskService.create(TaskRequest.builder().title("Held back").build(), null))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.get("outbox.relay.overflow").counter().count()).isEqualTo(1);
+
+        SINK_RELEASED.countDown();
+        await().atMost(Duration.ofSeconds(10)).until(() -> pending() == 0);
+        taskService.create(TaskRequest.builder().title("Accepted again").build(), null);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            assertThat(taskService.getEvents(first.getId(), 0, 10).getContent()).hasSize(1));
+        assertThat(meterRegistry.get("outbox.relay.batch.size").summary().count()).isPositive();
+    }
+
+    private double pending() {
+        return meterRegistry.get("outbox.relay.pending").gauge().value();
+    }
+}
@@ -1,23 +1,35 @@
 package com.taskapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskapi.domain.TaskPriority;
 import com.taskapi.domain.TaskStatus;
+import com.taskapi.domain.TaskEventType;
+import com.taskapi.dto.BulkChangeResult;
+import com.taskapi.dto.BulkDeleteRequest;
+import com.taskapi.dto.BulkStatusUpdateRequest;
+import com.taskapi.dto.CountMode;
+import com.taskapi.dto.TaskFilter;
 import com.taskapi.dto.TaskRequest;
 import com.taskapi.dto.TaskResponse;
 import com.taskapi.dto.TaskStatusUpdateRequest;
+import com.taskapi.repository.CursorPage;
+import com.taskapi.repository.TaskCursor;
 import com.taskapi.repository.TaskRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -49,6 +61,9 @@ class TaskServiceTest {
     @Autowired
     TaskRepository taskRepository;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     @Test
     void create_and_getById() {
         TaskRequest req = TaskRequest.builder()
@@ -84,6 +99,50 @@ class TaskServiceTest {
         assertThat(updated.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
     }
 
+    @Test
+    void conditional_writes_map_zero_rows_to_404_or_409() {
+        TaskResponse created = taskService.create(TaskRequest.builder().title("V").tags(List.of("a", "b")).build(), null);
+
+        TaskStatusUpdateRequest stale = new TaskStatusUpdateRequest(TaskStatus.DONE, created.getVersion() + 1);
+        assertThatThrownBy(() -> taskService.updateStatus(created.getId(), stale))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode().value()).isEqualTo(409));
+        assertThatThrownBy(() -> taskService.updateStatus(UUID.randomUUID(), new TaskStatusUpdateRequest(TaskStatus.DONE)))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode().value()).isEqualTo(404));
+
+        TaskResponse updated = taskService.update(created.getId(), TaskRequest.builder()
+            .title("V2").tags(List.of("b", "c")).version(created.getVersion()).build());
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(taskService.getById(created.getId()).getTags()).containsExactlyInAnyOrder("b", "c");
+        assertThat(taskService.getById(created.getId()).getTitle()).isEqualTo("V2");
+    }
+
+    @Test
+    void patch_writes_only_present_fields() throws Exception {
+        TaskResponse created = taskService.create(TaskRequest.builder()
+            .title("P").description("keep").assignee("alice").tags(List.of("a", "b")).build(), null);
+
+        TaskResponse patched = taskService.patch(created.getId(),
+            objectMapper.readTree("{\"assignee\":\"bob\",\"tags\":[\"b\",\"c\"],\"dueDate\":null}"));
+        assertThat(patched.getAssignee()).isEqualTo("bob");
+        assertThat(patched.getTitle()).isEqualTo("P");
+        assertThat(patched.getDescription()).isEqualTo("keep");
+        assertThat(patched.getTags()).containsExactlyInAnyOrder("b", "c");
+        assertThat(patched.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        assertThatThrownBy(() -> taskService.patch(created.getId(), objectMapper.readTree("{\"title\":null}")))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        assertThatThrownBy(() -> taskService.patch(created.getId(), objectMapper.readTree("{\"id\":\"x\"}")))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        assertThatThrownBy(() -> taskService.patch(created.getId(),
+                objectMapper.readTree("{\"status\":\"DONE\",\"version\":" + created.getVersion() + "}")))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode().value()).isEqualTo(409));
+    }
+
     @Test
     void list_with_filters() {
         taskService.create(TaskRequest.builder().title("A").assignee("alice").build(), null);
@@ -93,6 +152,152 @@ class TaskServiceTest {
         assertThat(page.getContent().get(0).getAssignee()).isEqualTo("alice");
     }
 
+    @Test
+    void listByCursor_walks_forward_and_back() {
+        for (int i = 0; i < 5; i++) {
+            taskService.create(TaskRequest.builder().title("Cursor " + i).assignee("carol").build(), null);
+        }
+        List<UUID> seen = new ArrayList<>();
+        TaskFilter carol = TaskFilter.builder().assignees(List.of("carol")).build();
+        CursorPage<TaskResponse> page = taskService.listByCursor(carol, "", 2, "title", "asc");
+        assertThat(page.getPrevCursor()).isNull();
+        seen.addAll(page.getContent().stream().map(TaskResponse::getId).toList());
+        while (page.getNextCursor() != null) {
+            page = taskService.listByCursor(carol, page.getNextCursor(), 2, null, null);
+            seen.addAll(page.getContent().stream().map(TaskResponse::getId).toList());
+        }
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+
+        CursorPage<TaskResponse> previous = taskService.listByCursor(carol, page.getPrevCursor(), 2, null, null);
+        assertThat(previous.getContent()).extracting(TaskResponse::getTitle).containsExactly("Cursor 2", "Cursor 3");
+    }
+
+    @Test
+    void listByCursor_rejects_forged_cursors_with_400() {
+        UUID id = UUID.randomUUID();
+        List<String> forged = List.of(
+            new TaskCursor("password", true, false, "x", id).encode(),
+            new TaskCursor("createdAt", true, false, "yesterday'; --", id).encode(),
+            new TaskCursor("dueDate", true, false, "2024-13-45 25:00:00+00", id).encode(),
+            new TaskCursor("status", true, false, "ARCHIVED", id).encode(),
+            "bm90IGEgY3Vyc29y");
+        for (String cursor : forged) {
+            assertThatThrownBy(() -> taskService.listByCursor(new TaskFilter(), cursor, 2, null, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                    e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        }
+
+        // A genuine cursor is still accepted, but only with its own sort
+        taskService.create(TaskRequest.builder().title("Sorted").build(), null);
+        String valid = new TaskCursor("createdAt", false, false, "2024-05-01 09:30:00.123456+00", id).encode();
+        assertThat(taskService.listByCursor(new TaskFilter(), valid, 2, null, null).getContent()).isEmpty();
+        assertThatThrownBy(() -> taskService.listByCursor(new TaskFilter(), valid, 2, "title", null))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+    }
+
+    @Test
+    void list_with_multi_value_filters() {
+        taskService.create(TaskRequest.builder().title("M1").assignee("dave").tags(List.of("x", "y")).build(), null);
+        taskService.create(TaskRequest.builder().title("M2").assignee("erin").status(TaskStatus.IN_PROGRESS)
+            .tags(List.of("x")).build(), null);
+        taskService.create(TaskRequest.builder().title("M3").assignee("frank").status(TaskStatus.DONE).build(), null);
+
+        TaskFilter byAssigneesAndStatuses = TaskFilter.builder()
+            .assignees(List.of("dave", "erin", "frank"))
+            .statuses(List.of("TODO", "IN_PROGRESS"))
+            .build();
+        assertThat(taskService.list(byAssigneesAndStatuses, 0, 10, "title", "asc").getContent())
+            .extracting(TaskResponse::getTitle).containsExactly("M1", "M2");
+
+        TaskFilter allTags = TaskFilter.builder()
+            .assignees(List.of("dave", "erin", "frank"))
+            .tags(List.of("x", "y"))
+            .tagMatch(TaskFilter.TagMatch.ALL)
+            .build();
+        assertThat(taskService.list(allTags, 0, 10, "title", "asc").getContent())
+            .extracting(TaskResponse::getTitle).containsExactly("M1");
+    }
+
+    @Test
+    void list_rows_match_single_task_reads() {
+        TaskResponse tagged = taskService.create(TaskRequest.builder().title("P1").assignee("hank")
+            .description("projected").tags(List.of("red", "blue")).build(), null);
+        TaskResponse untagged = taskService.create(TaskRequest.builder().title("P2").assignee("hank").build(), null);
+        TaskFilter filter = TaskFilter.builder().assignees(List.of("hank")).build();
+
+        List<TaskResponse> rows = taskService.list(filter, 0, 10, "title", "asc").getContent();
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).usingRecursiveComparison().ignoringFields("tags", "createdAt", "updatedAt", "dueDate")
+            .isEqualTo(tagged);
+        assertThat(rows.get(0).getTags()).containsExactlyInAnyOrder("red", "blue");
+        assertThat(rows.get(1).getId()).isEqualTo(untagged.getId());
+        assertThat(rows.get(1).getTags()).isEmpty();
+    }
+
+    @Test
+    void list_count_modes() {
+        for (int i = 0; i < 3; i++) {
+            taskService.create(TaskRequest.builder().title("C" + i).assignee("gina").build(), null);
+        }
+        TaskFilter filter = TaskFilter.builder().assignees(List.of("gina")).build();
+
+        Slice<TaskResponse> exact = taskService.list(filter, 0, 2, "title", "asc", CountMode.EXACT);
+        assertThat(exact).isInstanceOf(Page.class);
+        assertThat(((Page<TaskResponse>) exact).getTotalElements()).isEqualTo(3);
+
+        Slice<TaskResponse> none = taskService.list(filter, 0, 2, "title", "asc", CountMode.NONE);
+        assertThat(none).isNotInstanceOf(Page.class);
+        assertThat(none.getContent()).hasSize(2);
+        assertThat(none.hasNext()).isTrue();
+
+        // Estimates are clamped to what the last page saw
+        Slice<TaskResponse> lastPage = taskService.list(filter, 1, 2, "title", "asc", CountMode.ESTIMATE);
+        assertThat(((Page<TaskResponse>) lastPage).getTotalElements()).isEqualTo(3);
+
+        assertThat(taskService.listByCursor(filter, null, 2, "title", "asc", CountMode.NONE).getTotalElements())
+            .isNull();
+    }
+
+    @Test
+    void bulkUpdateStatus_by_ids_reports_conflicts_and_missing() {
+        TaskResponse a = taskService.create(TaskRequest.builder().title("B1").assignee("ivy").build(), null);
+        TaskResponse b = taskService.create(TaskRequest.builder().title("B2").assignee("ivy").build(), null);
+        UUID missing = UUID.randomUUID();
+
+        BulkChangeResult result = taskService.bulkUpdateStatus(BulkStatusUpdateRequest.builder()
+            .status(TaskStatus.DONE)
+            .ids(List.of(a.getId(), b.getId(), missing))
+            .versions(java.util.Map.of(b.getId(), b.getVersion() + 5))
+            .build());
+
+        assertThat(result.getIds()).containsExactly(a.getId());
+        assertThat(result.getConflicts()).containsExactly(b.getId());
+        assertThat(result.getNotFound()).containsExactly(missing);
+        TaskResponse updated = taskService.getById(a.getId());
+        assertThat(updated.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(updated.getVersion()).isEqualTo(a.getVersion() + 1);
+        assertThat(taskService.getEvents(a.getId(), 0, 10).getContent())
+            .anyMatch(e -> e.getType() == TaskEventType.STATUS_CHANGED && e.getPayload().contains("\"newStatus\": \"DONE\""));
+    }
+
+    @Test
+    void bulk_by_filter() {
+        taskService.create(TaskRequest.builder().title("F1").assignee("jack").build(), null);
+        taskService.create(TaskRequest.builder().title("F2").assignee("jack").status(TaskStatus.IN_PROGRESS).build(), null);
+        TaskFilter jacksTodos = TaskFilter.builder().assignees(List.of("jack")).statuses(List.of("TODO")).build();
+
+        assertThat(taskService.bulkUpdateStatus(BulkStatusUpdateRequest.builder()
+            .status(TaskStatus.CANCELED).filter(jacksTodos).build()).getAffected()).isEqualTo(1);
+        assertThat(taskService.bulkDelete(BulkDeleteRequest.builder()
+            .filter(TaskFilter.builder().assignees(List.of("jack")).build()).build()).getAffected()).isEqualTo(2);
+        assertThat(taskService.list(TaskFilter.builder().assignees(List.of("jack")).build(), 0, 10, null, null))
+            .isEmpty();
+
+        assertThatThrownBy(() -> taskService.bulkDelete(BulkDeleteRequest.builder().filter(new TaskFilter()).build()))
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
     @Test
     void delete() {
         TaskResponse created = taskService.create(TaskRequest.builder().title("To delete").build(), null);